@@ -22,28 +22,37 @@
 */
 package me.b0iizz.advancednbttooltip;
 
-import com.google.common.collect.ImmutableSet;
 import me.b0iizz.advancednbttooltip.api.CustomTooltip;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips;
+import me.b0iizz.advancednbttooltip.api.impl.ItemSet;
+import me.b0iizz.advancednbttooltip.api.impl.ReadOnlyNbt;
+import me.b0iizz.advancednbttooltip.api.impl.TooltipCache;
+import me.b0iizz.advancednbttooltip.api.impl.TooltipRegistry;
 import me.b0iizz.advancednbttooltip.api.impl.builtin.*;
 import me.b0iizz.advancednbttooltip.config.ConfigManager;
+import me.b0iizz.advancednbttooltip.config.ConfigSnapshot;
 import me.b0iizz.advancednbttooltip.gui.HudTooltipPicker;
 import me.b0iizz.advancednbttooltip.gui.HudTooltipRenderer;
 import me.b0iizz.advancednbttooltip.misc.JsonTooltipResourceManager;
 import me.b0iizz.advancednbttooltip.misc.ModKeybinds;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.event.registry.RegistryIdRemapCallback;
 import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
 import net.minecraft.client.gui.tooltip.TooltipComponent;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.Registries;
 import net.minecraft.resource.ResourceType;
-import net.minecraft.text.Text;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Style;
 import net.minecraft.util.Identifier;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * The Fabric Entrypoint of this mod. <br>
@@ -61,9 +70,24 @@ public final class AdvancedNBTTooltips implements ClientModInitializer {
 	public static final String modid = "advancednbttooltip";
 
 	/**
-	 * The list of all loaded tooltips
+	 * All loaded tooltips. Replaced as a whole on every reload.
 	 */
-	private static final Map<Identifier, CustomTooltip> TOOLTIPS = new HashMap<>();
+	private static volatile TooltipRegistry registry = TooltipRegistry.EMPTY;
+
+	/**
+	 * The custom tooltips of recently hovered stacks
+	 */
+	private static final TooltipCache CACHE = new TooltipCache();
+
+	/**
+	 * The complete tooltips including the vanilla lines of recently hovered stacks. Cleared every tick, as the vanilla
+	 * lines and those of other mods may change with time.
+	 */
+	private static final TooltipCache FULL_CACHE = new TooltipCache();
+
+	private static final TooltipComponent SEPARATOR = TooltipComponent.of(OrderedText.EMPTY);
+	private static final TooltipComponent SPACER = TooltipComponent
+			.of(OrderedText.styledForwardsVisitedString(" ", Style.EMPTY));
 
 	/**
 	 * Constructs a new {@link Identifier} consisting of this mod's modid and the
@@ -77,10 +101,50 @@ public final class AdvancedNBTTooltips implements ClientModInitializer {
 	}
 
 	/**
-	 * @return A Set containing all registered Tooltips
+	 * @return An immutable Set containing all registered Tooltips, as they were loaded. Changes made to them are
+	 * not shown until the tooltips are compiled again.
 	 */
 	public static Set<Map.Entry<Identifier, CustomTooltip>> getRegisteredTooltips() {
-		return ImmutableSet.copyOf(TOOLTIPS.entrySet());
+		return registry.getEntries();
+	}
+
+	/**
+	 * @return The cache of the custom tooltips of recently hovered stacks
+	 */
+	public static TooltipCache getTooltipCache() {
+		return CACHE;
+	}
+
+	/**
+	 * @return The cache of the complete tooltips of recently hovered stacks, used when enabled in the config
+	 */
+	public static TooltipCache getFullTooltipCache() {
+		return FULL_CACHE;
+	}
+
+	/**
+	 * @return The currently loaded tooltips
+	 */
+	public static TooltipRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * Enables or disables a tooltip without reloading.
+	 *
+	 * @param id      The id of the tooltip
+	 * @param enabled Whether the tooltip should be enabled
+	 */
+	public static void setTooltipEnabled(Identifier id, boolean enabled) {
+		registry = registry.withEnabled(id, enabled);
+	}
+
+	/**
+	 * Reads the state of every tooltip from the config again without reloading. Called on the client thread once the
+	 * toggles have been read from the file.
+	 */
+	public static void refreshEnabledTooltips() {
+		registry = registry.withEnabled(ConfigManager::isEnabled);
 	}
 
 	/**
@@ -93,6 +157,9 @@ public final class AdvancedNBTTooltips implements ClientModInitializer {
 
 		ModKeybinds.initKeyBindings();
 		ClientTickEvents.END_CLIENT_TICK.register(ModKeybinds::updateKeyBindings);
+		ClientTickEvents.END_CLIENT_TICK.register(client -> FULL_CACHE.clear());
+		ClientLifecycleEvents.CLIENT_STOPPING.register(client -> ConfigManager.flushToggles());
+		RegistryIdRemapCallback.event(Registries.ITEM).register(state -> ItemSet.invalidateRawIds());
 
 		JsonTooltips.getInstance().registerFactory(BlastResistanceFactory.class);
 		JsonTooltips.getInstance().registerFactory(BlockHardnessFactory.class);
@@ -126,6 +193,7 @@ public final class AdvancedNBTTooltips implements ClientModInitializer {
 		JsonTooltips.getInstance().registerCondition(HasTagCondition.class);
 		JsonTooltips.getInstance().registerCondition(HasTextCondition.class);
 		JsonTooltips.getInstance().registerCondition(HudContextCondition.class);
+		JsonTooltips.getInstance().registerCondition(IsInTagCondition.class);
 		JsonTooltips.getInstance().registerCondition(IsItemCondition.class);
 		JsonTooltips.getInstance().registerCondition(NotCondition.class);
 		JsonTooltips.getInstance().registerCondition(OrCondition.class);
@@ -136,7 +204,11 @@ public final class AdvancedNBTTooltips implements ClientModInitializer {
 		HudTooltipPicker.setup();
 
 		ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES)
-				.registerReloadListener(new JsonTooltipResourceManager(TOOLTIPS));
+				.registerReloadListener(new JsonTooltipResourceManager(newRegistry -> {
+					registry = newRegistry;
+					CACHE.clear();
+					FULL_CACHE.clear();
+				}));
 	}
 
 	/**
@@ -147,34 +219,62 @@ public final class AdvancedNBTTooltips implements ClientModInitializer {
 	 * @param lines The lines in the tooltip
 	 */
 	public static void getTooltip(ItemStack stack, TooltipContext ctx, List<TooltipComponent> lines) {
-		if (ConfigManager.getTooltipToggle()) {
-			ArrayList<TooltipComponent> text = new ArrayList<>();
-			appendCustomTooltip(stack.copy(), text, ctx);
+		ConfigSnapshot config = ConfigManager.getSnapshot();
+		if (config.enableTooltips()) {
+			List<TooltipComponent> custom = getCustomTooltip(stack, ctx);
+			if (custom.isEmpty())
+				return;
 
-			if (!lines.isEmpty() && !text.isEmpty())
-				text.add(0, TooltipComponent.of(Text.of("").asOrderedText()));
+			ArrayList<TooltipComponent> text = new ArrayList<>(custom.size() + 2);
+			if (!lines.isEmpty())
+				text.add(SEPARATOR);
 
-			if (ConfigManager.getTooltipPosition() == TooltipPosition.TOP && !text.isEmpty() && lines.size() > 1)
-				text.add(TooltipComponent.of(Text.of(" ").asOrderedText()));
+			text.addAll(custom);
 
-			lines.addAll(ConfigManager.getTooltipPosition().position(lines), text);
+			if (config.tooltipPosition() == TooltipPosition.TOP && lines.size() > 1)
+				text.add(SPACER);
+
+			lines.addAll(config.tooltipPosition().position(lines), text);
 		}
 	}
 
+	/**
+	 * @param stack   The item stack
+	 * @param context The context of the tooltip
+	 * @return The custom tooltip lines of the stack, which may be shared and must not be modified
+	 */
+	private static List<TooltipComponent> getCustomTooltip(ItemStack stack, TooltipContext context) {
+		TooltipRegistry current = registry;
+		Supplier<List<TooltipComponent>> compute = () -> {
+			List<TooltipComponent> text = new ArrayList<>();
+			appendCustomTooltip(current, stack, text, context);
+			return text;
+		};
+		if (!ConfigManager.isTooltipCacheEnabled())
+			return compute.get();
+		return CACHE.get(stack, context, null, current, ConfigManager.getGeneration(), compute);
+	}
+
 	/**
 	 * Used by the ItemTooltipCallback function to interact with the tooltip
 	 * pipeline.
 	 *
-	 * @param stack   The {@link ItemStack} of which a tooltip should be generated.
-	 * @param tooltip The List of text to add Tooltips to.
-	 * @param context The {@link TooltipContext} where the tooltip is being
-	 *                generated.
+	 * @param registry The tooltips to be applied.
+	 * @param stack    The {@link ItemStack} of which a tooltip should be generated.
+	 * @param tooltip  The List of text to add Tooltips to.
+	 * @param context  The {@link TooltipContext} where the tooltip is being
+	 *                 generated.
 	 */
-	private static void appendCustomTooltip(ItemStack stack, List<TooltipComponent> tooltip, TooltipContext context) {
+	private static void appendCustomTooltip(TooltipRegistry registry, ItemStack stack, List<TooltipComponent> tooltip,
+			TooltipContext context) {
 		Item item = stack.getItem();
-		NbtCompound tag = stack.hasNbt() ? stack.getNbt() : new NbtCompound();
-		TOOLTIPS.entrySet().stream().sorted(Comparator.comparing(a -> a.getKey().toString()))
-				.forEachOrdered(t -> tooltip.addAll(t.getValue().getTooltip(item, tag, context)));
+		NbtCompound tag = stack.hasNbt() ? ReadOnlyNbt.of(stack.getNbt()) : ReadOnlyNbt.EMPTY;
+		NbtPathWrapper.beginEvaluation(tag);
+		try {
+			registry.getIndex().appendTooltip(item, tag, context, tooltip);
+		} finally {
+			NbtPathWrapper.endEvaluation();
+		}
 	}
 
 	/**
@@ -51,7 +51,7 @@ public interface TooltipCondition {
 	 * Decides if the condition is enabled.
 	 *
 	 * @param item    The {@link Item} the tooltip will be added to.
-	 * @param tag     The Item's {@link NbtCompound NBT-tag}.
+	 * @param tag     The Item's {@link NbtCompound NBT-tag}. It is read-only and must be copied before modifying it.
 	 * @param context The current {@link TooltipContext}.
 	 * @return Whether the tooltip should be displayed.
 	 */
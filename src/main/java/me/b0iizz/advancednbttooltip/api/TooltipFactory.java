@@ -26,8 +26,11 @@ import net.minecraft.client.gui.tooltip.TooltipComponent;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.text.Text;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
@@ -51,7 +54,7 @@ public interface TooltipFactory {
 	 * Creates the tooltip text for the Item.
 	 *
 	 * @param item    The {@link Item} the tooltip will be added to.
-	 * @param tag     The Item's {@link NbtCompound NBT-tag}.
+	 * @param tag     The Item's {@link NbtCompound NBT-tag}. It is read-only and must be copied before modifying it.
 	 * @param context The current {@link TooltipContext}.
 	 * @return A {@link List} of {@link Text Texts} to be applied to the Item's
 	 * tooltip.
@@ -62,14 +65,32 @@ public interface TooltipFactory {
 	 * Creates the tooltip components for the Item. This is a generalization for {@link #getTooltipText(Item, NbtCompound, TooltipContext)}.
 	 *
 	 * @param item    The {@link Item} the tooltip will be added to.
-	 * @param tag     The Item's {@link NbtCompound NBT-tag}.
+	 * @param tag     The Item's {@link NbtCompound NBT-tag}. It is read-only and must be copied before modifying it.
 	 * @param context The current {@link TooltipContext}.
 	 * @return A {@link List} of {@link TooltipComponent TooltipComponents} to be applied to the Item's
 	 * tooltip.
 	 */
 	default List<TooltipComponent> getTooltip(Item item, NbtCompound tag, TooltipContext context) {
-		return this.getTooltipText(item, tag, context).stream().map(Text::asOrderedText).map(TooltipComponent::of)
-				.toList();
+		List<Text> texts = this.getTooltipText(item, tag, context);
+		List<TooltipComponent> result = new ArrayList<>(texts.size());
+		for (Text text : texts)
+			result.add(TooltipComponent.of(text.asOrderedText()));
+		return result;
+	}
+
+	/**
+	 * Creates the values of this factory without rendering them as text. Factories reading values from the NBT may
+	 * implement this, so that other factories and conditions can use numbers, strings and identifiers directly
+	 * instead of parsing them from {@link #getTooltipText(Item, NbtCompound, TooltipContext)}.
+	 *
+	 * @param item    The {@link Item} the tooltip will be added to.
+	 * @param tag     The Item's {@link NbtCompound NBT-tag}. It is read-only and must be copied before modifying it.
+	 * @param context The current {@link TooltipContext}.
+	 * @return A {@link List} of values, or <b>null</b> if this factory only provides text.
+	 */
+	@Nullable
+	default List<NbtElement> getTooltipValues(Item item, NbtCompound tag, TooltipContext context) {
+		return null;
 	}
 
 	/**
@@ -0,0 +1,187 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import me.b0iizz.advancednbttooltip.api.CustomTooltip;
+import me.b0iizz.advancednbttooltip.api.TooltipCondition;
+import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.AndCondition;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.MultipleFactory;
+import net.minecraft.client.gui.tooltip.TooltipComponent;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A loaded {@link CustomTooltip} lowered into two flat arrays: the conditions which all have to be met and the
+ * factories whose output is concatenated. Nested {@link AndCondition and} conditions and {@link MultipleFactory
+ * multiple} factories are inlined, so that evaluating a tooltip is a single loop over each array. The conditions are
+ * evaluated in the order chosen by a {@link ConditionOrder}.
+ *
+ * @author B0IIZZ
+ */
+public final class CompiledTooltip implements CustomTooltip {
+
+	private final Identifier id;
+	private final int priority;
+	private final TooltipCondition[] conditions;
+	private final ConditionOrder order;
+	private final TooltipFactory[] factories;
+
+	private CompiledTooltip(Identifier id, int priority, TooltipCondition[] conditions, TooltipFactory[] factories) {
+		this.id = id;
+		this.priority = priority;
+		this.conditions = conditions;
+		this.order = new ConditionOrder(id.toString(), true, conditions);
+		this.factories = factories;
+	}
+
+	/**
+	 * Compiles a tooltip after it has been fully loaded.
+	 *
+	 * @param id      The id of the tooltip
+	 * @param tooltip The tooltip to be compiled
+	 * @return The compiled tooltip
+	 */
+	public static CompiledTooltip compile(Identifier id, CustomTooltip tooltip) {
+		if (tooltip instanceof CompiledTooltip compiled)
+			return compiled;
+
+		List<TooltipCondition> conditions = new ArrayList<>();
+		List<TooltipFactory> factories = new ArrayList<>();
+		int priority = 0;
+
+		if (tooltip instanceof CustomTooltipImpl impl) {
+			priority = impl.getPriority();
+			impl.getConditions().forEach(condition -> flattenCondition(condition, conditions));
+			impl.getFactories().forEach(factory -> flattenFactory(factory, factories));
+		} else {
+			factories.add(tooltip);
+		}
+
+		return new CompiledTooltip(id, priority, conditions.toArray(TooltipCondition[]::new),
+				factories.toArray(TooltipFactory[]::new));
+	}
+
+	private static void flattenCondition(TooltipCondition condition, List<TooltipCondition> result) {
+		if (condition == null || condition == TooltipCondition.TRUE)
+			return;
+		if (condition instanceof AndCondition and && and.conditions != null) {
+			for (TooltipCondition child : and.conditions)
+				flattenCondition(child, result);
+			return;
+		}
+		result.add(condition);
+	}
+
+	private static void flattenFactory(TooltipFactory factory, List<TooltipFactory> result) {
+		if (factory == null || factory == TooltipFactory.EMPTY)
+			return;
+		if (factory instanceof MultipleFactory multiple && multiple.texts != null) {
+			for (TooltipFactory child : multiple.texts)
+				flattenFactory(child, result);
+			return;
+		}
+		result.add(factory);
+	}
+
+	/**
+	 * @return The id of this tooltip
+	 */
+	public Identifier getId() {
+		return id;
+	}
+
+	/**
+	 * @return The priority of this tooltip. Tooltips with a higher priority are shown above others.
+	 */
+	public int getPriority() {
+		return priority;
+	}
+
+	/**
+	 * @return The flattened conditions of this tooltip. The array must not be modified.
+	 */
+	TooltipCondition[] getConditions() {
+		return conditions;
+	}
+
+	@Override
+	public boolean isEnabled(Item item, NbtCompound tag, TooltipContext context) {
+		return order.isEnabled(item, tag, context);
+	}
+
+	@Override
+	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
+		if (!isEnabled(item, tag, context))
+			return Collections.emptyList();
+		List<Text> result = new ArrayList<>();
+		for (TooltipFactory factory : factories)
+			result.addAll(factory.getTooltipText(item, tag, context));
+		return result;
+	}
+
+	@Override
+	public List<TooltipComponent> getTooltip(Item item, NbtCompound tag, TooltipContext context) {
+		if (!isEnabled(item, tag, context))
+			return Collections.emptyList();
+		List<TooltipComponent> result = new ArrayList<>();
+		appendFactories(item, tag, context, result);
+		return result;
+	}
+
+	/**
+	 * Appends the tooltip components of this tooltip to a list without creating an intermediate list.
+	 *
+	 * @param item    The {@link Item} the tooltip will be added to.
+	 * @param tag     The Item's {@link NbtCompound NBT-tag}.
+	 * @param context The current {@link TooltipContext}.
+	 * @param tooltip The list the components are appended to.
+	 */
+	public void appendTooltip(Item item, NbtCompound tag, TooltipContext context, List<TooltipComponent> tooltip) {
+		if (isEnabled(item, tag, context))
+			appendFactories(item, tag, context, tooltip);
+	}
+
+	private void appendFactories(Item item, NbtCompound tag, TooltipContext context, List<TooltipComponent> tooltip) {
+		for (TooltipFactory factory : factories)
+			tooltip.addAll(factory.getTooltip(item, tag, context));
+	}
+
+	@Override
+	public CustomTooltip addText(TooltipFactory text) {
+		throw new UnsupportedOperationException("Compiled tooltips cannot be modified");
+	}
+
+	@Override
+	public CustomTooltip addCondition(TooltipCondition condition) {
+		throw new UnsupportedOperationException("Compiled tooltips cannot be modified");
+	}
+
+}
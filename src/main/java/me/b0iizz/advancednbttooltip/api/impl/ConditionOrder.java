@@ -0,0 +1,219 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
+import me.b0iizz.advancednbttooltip.api.TooltipCondition;
+import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.config.ConfigManager;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NbtCompound;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.StringJoiner;
+
+/**
+ * Evaluates a conjunction or disjunction of conditions in an order which is adapted at runtime. A sample of the
+ * evaluations is timed, and every {@link #REORDER_INTERVAL} evaluations the children are sorted so that the condition
+ * which is cheapest per short-circuit is evaluated first. Only conditions built entirely from builtin conditions and
+ * factories, which have no side effects, are moved. Any other condition is a barrier: it stays at its position and no
+ * condition is moved across it, so guards written in front of it still run first. This is disabled by default.
+ *
+ * @author B0IIZZ
+ */
+public final class ConditionOrder {
+
+	/**
+	 * One in this many evaluations is timed
+	 */
+	public static final int SAMPLE_INTERVAL = 16;
+
+	/**
+	 * The number of evaluations after which the conditions are reordered
+	 */
+	public static final int REORDER_INTERVAL = 1024;
+
+	private static final Logger LOGGER = LogManager.getLogger("AdvancedNbtTooltip Conditions");
+
+	private static final String BUILTIN_PACKAGE = ConditionOrder.class.getPackageName() + ".builtin";
+
+	private final String name;
+	private final boolean conjunction;
+	private final TooltipCondition[] conditions;
+	private final Child[] children;
+	private int evaluations;
+
+	/**
+	 * @param name        A name for this group of conditions used when logging the chosen order
+	 * @param conjunction <b>true</b> if all conditions need to be fulfilled, <b>false</b> if only one needs to be
+	 * @param conditions  The conditions in their original order. <b>null</b> elements are ignored.
+	 */
+	public ConditionOrder(String name, boolean conjunction, TooltipCondition[] conditions) {
+		this.name = name;
+		this.conjunction = conjunction;
+		this.conditions = Arrays.stream(conditions).filter(condition -> condition != null)
+				.toArray(TooltipCondition[]::new);
+		this.children = new Child[this.conditions.length];
+		int segment = 0;
+		for (int i = 0; i < children.length; i++) {
+			boolean builtin = isBuiltin(this.conditions[i]);
+			if (!builtin)
+				segment++;
+			children[i] = new Child(this.conditions[i], i, segment);
+			if (!builtin)
+				segment++;
+		}
+	}
+
+	/**
+	 * @return Whether a node and all conditions and factories in its public fields are builtin
+	 */
+	private static boolean isBuiltin(Object node) {
+		if (node == null || node == TooltipCondition.TRUE || node == TooltipCondition.FALSE
+				|| node == TooltipFactory.EMPTY || node instanceof ConstantFactory)
+			return true;
+		if (node instanceof Object[] array) {
+			for (Object element : array)
+				if (!isBuiltin(element))
+					return false;
+			return true;
+		}
+		if (!node.getClass().getPackageName().equals(BUILTIN_PACKAGE))
+			return false;
+		for (Field field : node.getClass().getFields()) {
+			Class<?> type = field.getType().isArray() ? field.getType().getComponentType() : field.getType();
+			if (!TooltipCondition.class.isAssignableFrom(type) && !TooltipFactory.class.isAssignableFrom(type))
+				continue;
+			try {
+				if (!isBuiltin(field.get(node)))
+					return false;
+			} catch (IllegalAccessException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param item    The {@link Item} the tooltip will be added to.
+	 * @param tag     The Item's {@link NbtCompound NBT-tag}.
+	 * @param context The current {@link TooltipContext}.
+	 * @return Whether all (or one of) the conditions are fulfilled
+	 */
+	public boolean isEnabled(Item item, NbtCompound tag, TooltipContext context) {
+		if (children.length < 2 || !ConfigManager.isAdaptiveConditionOrderEnabled()) {
+			for (TooltipCondition condition : conditions)
+				if (condition.isEnabled(item, tag, context) != conjunction)
+					return !conjunction;
+			return conjunction;
+		}
+
+		int evaluation = evaluations++;
+		if (evaluation == REORDER_INTERVAL) {
+			evaluations = 1;
+			reorder();
+		}
+
+		if (evaluation % SAMPLE_INTERVAL != 0) {
+			for (Child child : children)
+				if (child.condition.isEnabled(item, tag, context) != conjunction)
+					return !conjunction;
+			return conjunction;
+		}
+
+		for (Child child : children) {
+			long start = System.nanoTime();
+			boolean result = child.condition.isEnabled(item, tag, context);
+			child.nanos += System.nanoTime() - start;
+			child.samples++;
+			if (result != conjunction)
+				return !conjunction;
+			child.passes++;
+		}
+		return conjunction;
+	}
+
+	/**
+	 * Sorts the builtin children between two barriers by their expected cost per short-circuit, which is their average
+	 * cost divided by the probability that they end the evaluation. Children which have never been evaluated keep their
+	 * relative position behind all others of their segment. Afterwards the statistics are halved, so that later samples outweigh older ones.
+	 */
+	private void reorder() {
+		Child[] previous = children.clone();
+		Arrays.sort(children, Comparator.<Child>comparingInt(child -> child.segment).thenComparingDouble(Child::rank)
+				.thenComparingInt(child -> child.position));
+		if (!Arrays.equals(previous, children) && LOGGER.isDebugEnabled()) {
+			StringJoiner order = new StringJoiner(", ", "[", "]");
+			for (Child child : children)
+				order.add("%s (%.0fns, %d/%d %s)".formatted(describe(child.condition), child.cost(),
+						conjunction ? child.samples - child.passes : child.passes, child.samples,
+						conjunction ? "fail" : "pass"));
+			LOGGER.debug("Reordered conditions of {}: {}", name, order);
+		}
+		for (Child child : children) {
+			child.nanos >>= 1;
+			child.samples >>= 1;
+			child.passes >>= 1;
+		}
+	}
+
+	private static String describe(TooltipCondition condition) {
+		TooltipCode code = condition.getClass().getAnnotation(TooltipCode.class);
+		return code != null ? code.value() : condition.getClass().getSimpleName();
+	}
+
+	private final class Child {
+
+		private final TooltipCondition condition;
+		private final int position;
+		private final int segment;
+		private long nanos;
+		private int samples;
+		private int passes;
+
+		private Child(TooltipCondition condition, int position, int segment) {
+			this.condition = condition;
+			this.position = position;
+			this.segment = segment;
+		}
+
+		private double cost() {
+			return samples == 0 ? 0 : (double) nanos / samples;
+		}
+
+		private double rank() {
+			if (samples == 0)
+				return Double.POSITIVE_INFINITY;
+			int shortCircuits = conjunction ? samples - passes : passes;
+			// Add one to avoid dividing by zero and to prefer conditions which have been seen to short-circuit
+			return cost() * (samples + 1) / (shortCircuits + 1);
+		}
+
+	}
+
+}
@@ -0,0 +1,126 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import net.minecraft.client.gui.tooltip.TooltipComponent;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtString;
+import net.minecraft.text.Text;
+import net.minecraft.util.Language;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A factory which always returns the same prebuilt {@link Text Texts}. The {@link TooltipComponent TooltipComponents}
+ * and values are built once per language.
+ *
+ * @author B0IIZZ
+ */
+public final class ConstantFactory implements TooltipFactory {
+
+	private final List<Text> texts;
+
+	private Language language;
+	private List<TooltipComponent> components;
+	private List<NbtElement> values;
+
+	/**
+	 * @param texts The texts returned by this factory
+	 */
+	public ConstantFactory(List<Text> texts) {
+		this.texts = List.copyOf(texts);
+	}
+
+	/**
+	 * Evaluates a factory which does not depend on its arguments once.
+	 *
+	 * @param factory The factory to be evaluated
+	 * @return a {@link ConstantFactory} returning the texts of the factory
+	 */
+	public static ConstantFactory of(TooltipFactory factory) {
+		return new ConstantFactory(factory.getTooltipText(null, null, null));
+	}
+
+	/**
+	 * @param factory A factory
+	 * @return true when the given factory always returns the same texts
+	 */
+	public static boolean isConstant(TooltipFactory factory) {
+		return factory instanceof ConstantFactory || factory == TooltipFactory.EMPTY;
+	}
+
+	/**
+	 * @param factories Some factories
+	 * @return true when all of the given factories always return the same texts
+	 */
+	public static boolean isConstant(TooltipFactory[] factories) {
+		for (TooltipFactory factory : factories)
+			if (!isConstant(factory))
+				return false;
+		return true;
+	}
+
+	@Override
+	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
+		return texts;
+	}
+
+	@Override
+	public List<TooltipComponent> getTooltip(Item item, NbtCompound tag, TooltipContext context) {
+		checkLanguage();
+		if (components == null) {
+			List<TooltipComponent> result = new ArrayList<>(texts.size());
+			for (Text text : texts)
+				result.add(TooltipComponent.of(text.asOrderedText()));
+			components = Collections.unmodifiableList(result);
+		}
+		return components;
+	}
+
+	@Override
+	public List<NbtElement> getTooltipValues(Item item, NbtCompound tag, TooltipContext context) {
+		checkLanguage();
+		if (values == null) {
+			List<NbtElement> result = new ArrayList<>(texts.size());
+			for (Text text : texts)
+				result.add(NbtString.of(text.getString()));
+			values = Collections.unmodifiableList(result);
+		}
+		return values;
+	}
+
+	private void checkLanguage() {
+		if (language != Language.getInstance()) {
+			components = null;
+			values = null;
+			language = Language.getInstance();
+		}
+	}
+
+}
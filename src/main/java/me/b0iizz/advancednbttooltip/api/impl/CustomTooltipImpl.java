@@ -44,6 +44,7 @@ final class CustomTooltipImpl implements CustomTooltip {
 
 	private final List<TooltipFactory> factories = new ArrayList<>();
 	private final List<TooltipCondition> conditions = new ArrayList<>();
+	private int priority;
 
 	@Override
 	public boolean isEnabled(Item item, NbtCompound tag, TooltipContext context) {
@@ -57,16 +58,20 @@ final class CustomTooltipImpl implements CustomTooltip {
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
 		if (!isEnabled(item, tag, context))
 			return Collections.emptyList();
-		return factories.stream().sequential().flatMap(factory -> factory.getTooltipText(item, tag, context).stream())
-				.toList();
+		List<Text> result = new ArrayList<>();
+		for (TooltipFactory factory : factories)
+			result.addAll(factory.getTooltipText(item, tag, context));
+		return result;
 	}
 
 	@Override
 	public List<TooltipComponent> getTooltip(Item item, NbtCompound tag, TooltipContext context) {
 		if (!isEnabled(item, tag, context))
 			return Collections.emptyList();
-		return factories.stream().sequential().flatMap(factory -> factory.getTooltip(item, tag, context).stream())
-				.toList();
+		List<TooltipComponent> result = new ArrayList<>();
+		for (TooltipFactory factory : factories)
+			result.addAll(factory.getTooltip(item, tag, context));
+		return result;
 	}
 
 	@Override
@@ -83,4 +88,20 @@ final class CustomTooltipImpl implements CustomTooltip {
 		return this;
 	}
 
+	List<TooltipFactory> getFactories() {
+		return factories;
+	}
+
+	List<TooltipCondition> getConditions() {
+		return conditions;
+	}
+
+	int getPriority() {
+		return priority;
+	}
+
+	void setPriority(int priority) {
+		this.priority = priority;
+	}
+
 }
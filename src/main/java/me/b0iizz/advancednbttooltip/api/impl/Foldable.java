@@ -0,0 +1,42 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+/**
+ * A deserialized tooltip node which is able to replace itself by a simpler node once all of its fields have been
+ * set. This is used to fold constant parts of tooltips into prebuilt values at load time.
+ *
+ * @param <T> The kind of node, either {@link me.b0iizz.advancednbttooltip.api.TooltipFactory TooltipFactory} or
+ *            {@link me.b0iizz.advancednbttooltip.api.TooltipCondition TooltipCondition}
+ * @author B0IIZZ
+ */
+public interface Foldable<T> {
+
+	/**
+	 * Called once after deserialization.
+	 *
+	 * @return The node replacing this node, which may be <b>this</b>
+	 */
+	T fold();
+
+}
@@ -0,0 +1,127 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An immutable set of {@link Item Items} which tests membership without allocating. Small sets are compared by
+ * identity, larger sets are stored as a bitset over the raw ids of the items, which is rebuilt after the raw ids have
+ * been {@link #invalidateRawIds() remapped}.
+ *
+ * @author B0IIZZ
+ */
+public final class ItemSet {
+
+	/**
+	 * An empty set
+	 */
+	public static final ItemSet EMPTY = new ItemSet(new Item[0]);
+
+	/**
+	 * The largest set which is compared by identity instead of using a bitset
+	 */
+	public static final int MAX_IDENTITY_SIZE = 8;
+
+	private static volatile int rawIdGeneration;
+
+	private final Item[] items;
+	private long[] bits;
+	private int bitsGeneration = -1;
+
+	private ItemSet(Item[] items) {
+		this.items = items;
+	}
+
+	/**
+	 * @param items Some items
+	 * @return A set of the items
+	 */
+	public static ItemSet of(Collection<Item> items) {
+		return items.isEmpty() ? EMPTY : new ItemSet(items.stream().distinct().toArray(Item[]::new));
+	}
+
+	/**
+	 * Called after the raw ids of the item registry have changed, e.g. when joining a server with different mods.
+	 */
+	public static void invalidateRawIds() {
+		rawIdGeneration++;
+	}
+
+	/**
+	 * @param item An item
+	 * @return Whether the item is contained in this set
+	 */
+	public boolean contains(Item item) {
+		if (items.length <= MAX_IDENTITY_SIZE) {
+			for (Item candidate : items)
+				if (candidate == item)
+					return true;
+			return false;
+		}
+		long[] bits = getBits();
+		int rawId = Registries.ITEM.getRawId(item);
+		return rawId >= 0 && (rawId >> 6) < bits.length && (bits[rawId >> 6] & 1L << rawId) != 0;
+	}
+
+	private long[] getBits() {
+		int generation = rawIdGeneration;
+		long[] bits = this.bits;
+		if (bits == null || bitsGeneration != generation) {
+			int maxId = 0;
+			for (Item item : items)
+				maxId = Math.max(maxId, Registries.ITEM.getRawId(item));
+			bits = new long[(maxId >> 6) + 1];
+			for (Item item : items) {
+				int rawId = Registries.ITEM.getRawId(item);
+				if (rawId >= 0)
+					bits[rawId >> 6] |= 1L << rawId;
+			}
+			this.bits = bits;
+			this.bitsGeneration = generation;
+		}
+		return bits;
+	}
+
+	/**
+	 * @return The number of items in this set
+	 */
+	public int size() {
+		return items.length;
+	}
+
+	/**
+	 * @return The items of this set as an unmodifiable {@link Set}
+	 */
+	public Set<Item> toSet() {
+		return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(items)));
+	}
+
+}
@@ -0,0 +1,100 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+import java.util.*;
+
+/**
+ * The union of the members of some item tags, stored as an {@link ItemSet}. The members of all sets in use are
+ * recomputed whenever the tags are {@link #onTagsUpdated() updated}, so testing membership never walks the tags.
+ *
+ * @author B0IIZZ
+ */
+public final class ItemTagSet {
+
+	private static final Set<ItemTagSet> LIVE = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private final List<TagKey<Item>> tags;
+	private volatile ItemSet items = ItemSet.EMPTY;
+
+	private ItemTagSet(List<TagKey<Item>> tags) {
+		this.tags = tags;
+	}
+
+	/**
+	 * Creates a set of the members of the given tags, which is kept up to date as long as it is in use.
+	 *
+	 * @param tags The item tags
+	 * @return A set of all items contained in at least one of the tags
+	 */
+	public static ItemTagSet of(Collection<TagKey<Item>> tags) {
+		ItemTagSet result = new ItemTagSet(List.copyOf(tags));
+		result.update();
+		synchronized (LIVE) {
+			LIVE.add(result);
+		}
+		return result;
+	}
+
+	/**
+	 * @param id The id of a tag, optionally prefixed with <code>#</code>
+	 * @return The key of the item tag
+	 */
+	public static TagKey<Item> parseTag(String id) {
+		return TagKey.of(RegistryKeys.ITEM, new Identifier(id.startsWith("#") ? id.substring(1) : id));
+	}
+
+	/**
+	 * Recomputes the members of all sets in use. Called after the client received the tags from the server.
+	 */
+	public static void onTagsUpdated() {
+		synchronized (LIVE) {
+			for (ItemTagSet set : LIVE)
+				set.update();
+		}
+	}
+
+	private void update() {
+		Set<Item> members = new LinkedHashSet<>();
+		for (TagKey<Item> tag : tags)
+			for (RegistryEntry<Item> entry : Registries.ITEM.iterateEntries(tag))
+				members.add(entry.value());
+		items = ItemSet.of(members);
+	}
+
+	/**
+	 * @param item An item
+	 * @return Whether the item is contained in one of the tags
+	 */
+	public boolean contains(Item item) {
+		return items.contains(item);
+	}
+
+}
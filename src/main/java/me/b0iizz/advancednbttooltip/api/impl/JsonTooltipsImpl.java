@@ -28,6 +28,7 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips;
 import me.b0iizz.advancednbttooltip.api.TooltipCondition;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
 import me.b0iizz.advancednbttooltip.api.impl.builtin.MultipleFactory;
+import net.minecraft.text.Text;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -89,11 +90,11 @@ public final class JsonTooltipsImpl implements JsonTooltips {
 		if (element.isJsonNull())
 			return TooltipFactory.EMPTY;
 		if (element.isJsonPrimitive())
-			return TooltipFactory.of(element.getAsString());
+			return new ConstantFactory(Collections.singletonList(Text.of(element.getAsString())));
 		if (element.isJsonArray()) {
 			JsonObject toParse = new JsonObject();
 			toParse.add("texts", element);
-			return parseClass(toParse, MultipleFactory.class, ctx);
+			return fold(parseClass(toParse, MultipleFactory.class, ctx));
 		}
 
 		String id = getId(element);
@@ -101,8 +102,8 @@ public final class JsonTooltipsImpl implements JsonTooltips {
 		if (id.equals("empty"))
 			return TooltipFactory.EMPTY;
 
-		return parseClass(element, Optional.ofNullable(tooltipFactories.get(id))
-				.orElseThrow(() -> new JsonSyntaxException("Unknown text-factory id \"%s\"".formatted(id))), ctx);
+		return fold(parseClass(element, Optional.ofNullable(tooltipFactories.get(id))
+				.orElseThrow(() -> new JsonSyntaxException("Unknown text-factory id \"%s\"".formatted(id))), ctx));
 
 	}
 
@@ -119,8 +120,8 @@ public final class JsonTooltipsImpl implements JsonTooltips {
 		if (id.equals("false"))
 			return TooltipCondition.FALSE;
 
-		return parseClass(element, Optional.ofNullable(tooltipConditions.get(id))
-				.orElseThrow(() -> new JsonSyntaxException("Unknown condition id \"%s\"".formatted(id))), ctx);
+		return fold(parseClass(element, Optional.ofNullable(tooltipConditions.get(id))
+				.orElseThrow(() -> new JsonSyntaxException("Unknown condition id \"%s\"".formatted(id))), ctx));
 	}
 
 	private String getId(JsonElement element) {
@@ -132,7 +133,7 @@ public final class JsonTooltipsImpl implements JsonTooltips {
 	}
 
 	private CustomTooltip deserializeCustomTooltip(JsonElement element, Type type, JsonDeserializationContext ctx) {
-		CustomTooltip result = new CustomTooltipImpl();
+		CustomTooltipImpl result = new CustomTooltipImpl();
 		if (element.isJsonNull() || element.isJsonArray() || element.isJsonPrimitive())
 			return result;
 
@@ -153,6 +154,17 @@ public final class JsonTooltipsImpl implements JsonTooltips {
 				toThrow.addSuppressed(toWrap);
 		}
 
+		try {
+			JsonElement priority = element.getAsJsonObject().get("priority");
+			if (priority != null)
+				result.setPriority(priority.getAsInt());
+		} catch (RuntimeException toWrap) {
+			if (toThrow == null)
+				toThrow = new JsonSyntaxException("Exception deserializing CustomTooltip", toWrap);
+			else
+				toThrow.addSuppressed(toWrap);
+		}
+
 		if (toThrow != null)
 			throw toThrow;
 
@@ -220,6 +232,21 @@ public final class JsonTooltipsImpl implements JsonTooltips {
 		}
 	}
 
+	/**
+	 * Replaces a freshly parsed node by its folded form, if it is {@link Foldable}.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T fold(T node) {
+		if (node instanceof Foldable<?> foldable) {
+			try {
+				return (T) foldable.fold();
+			} catch (RuntimeException e) {
+				throw new JsonSyntaxException("Exception folding %s".formatted(node.getClass().getSimpleName()), e);
+			}
+		}
+		return node;
+	}
+
 	private String getNameForField(Field field) {
 		String name = "";
 		if (field.getAnnotation(Suggested.class) != null)
@@ -0,0 +1,112 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import net.minecraft.nbt.*;
+
+/**
+ * A 64-bit hash of the structure and content of NBT trees. Equal trees always have the same fingerprint, no matter
+ * the order their keys were inserted in, and the fingerprint of a tree does not change between sessions. It is
+ * computed without serializing or copying the tree.
+ *
+ * @author B0IIZZ
+ */
+public final class NbtFingerprint {
+
+	private static final long SEED = 0x9E3779B97F4A7C15L;
+	private static final long FNV_PRIME = 0x100000001B3L;
+
+	private NbtFingerprint() {
+	}
+
+	/**
+	 * Returns the fingerprint of a compound.
+	 *
+	 * @param compound A compound
+	 * @return The fingerprint of the compound
+	 */
+	public static long of(NbtCompound compound) {
+		return hash(compound);
+	}
+
+	/**
+	 * Computes the fingerprint of an element.
+	 *
+	 * @param element An NBT element
+	 * @return The fingerprint of the element
+	 */
+	public static long hash(NbtElement element) {
+		long hash = SEED * (element.getType() + 1);
+		switch (element.getType()) {
+			case NbtElement.BYTE_TYPE, NbtElement.SHORT_TYPE, NbtElement.INT_TYPE, NbtElement.LONG_TYPE ->
+					hash = mix(hash ^ ((AbstractNbtNumber) element).longValue());
+			case NbtElement.FLOAT_TYPE ->
+					hash = mix(hash ^ Float.floatToIntBits(((AbstractNbtNumber) element).floatValue()));
+			case NbtElement.DOUBLE_TYPE ->
+					hash = mix(hash ^ Double.doubleToLongBits(((AbstractNbtNumber) element).doubleValue()));
+			case NbtElement.STRING_TYPE -> hash = mix(hash ^ hashString(element.asString()));
+			case NbtElement.BYTE_ARRAY_TYPE -> {
+				for (byte value : ((NbtByteArray) element).getByteArray())
+					hash = (hash ^ value) * FNV_PRIME;
+				hash = mix(hash);
+			}
+			case NbtElement.INT_ARRAY_TYPE -> {
+				for (int value : ((NbtIntArray) element).getIntArray())
+					hash = mix(hash ^ value);
+			}
+			case NbtElement.LONG_ARRAY_TYPE -> {
+				for (long value : ((NbtLongArray) element).getLongArray())
+					hash = mix(hash ^ value);
+			}
+			case NbtElement.LIST_TYPE -> {
+				for (NbtElement child : (NbtList) element)
+					hash = mix(hash ^ hash(child));
+			}
+			case NbtElement.COMPOUND_TYPE -> {
+				// Entries are summed up, so that their order does not matter
+				long sum = 0;
+				NbtCompound compound = (NbtCompound) element;
+				for (String key : compound.getKeys())
+					sum += mix(hashString(key) ^ Long.rotateLeft(hash(compound.get(key)), 17));
+				hash = mix(hash ^ sum ^ compound.getSize());
+			}
+			default -> {
+			}
+		}
+		return hash;
+	}
+
+	private static long hashString(String string) {
+		long hash = 0xCBF29CE484222325L;
+		for (int i = 0; i < string.length(); i++)
+			hash = (hash ^ string.charAt(i)) * FNV_PRIME;
+		return hash;
+	}
+
+	private static long mix(long hash) {
+		hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+		return hash ^ (hash >>> 31);
+	}
+
+}
@@ -0,0 +1,282 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import me.b0iizz.advancednbttooltip.mixin.NbtCompoundAccessor;
+import me.b0iizz.advancednbttooltip.mixin.NbtListAccessor;
+import net.minecraft.nbt.AbstractNbtList;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.util.Identifier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates read-only views of NBT elements which are handed to tooltips instead of a copy of the stack's tag. A view
+ * shares the entries of the viewed element, so creating one is constant time no matter the size of the tag. Nested
+ * compounds and lists are wrapped once when they are first accessed. Every attempt to modify a view throws a
+ * {@link ModificationException}; {@link NbtElement#copy()} of a view returns a regular, modifiable copy.
+ * <br>
+ * Primitive arrays cannot be guarded, as {@link NbtCompound#getByteArray(String)} and similar methods hand out their
+ * backing arrays. Views therefore return a copy of every {@link net.minecraft.nbt.NbtByteArray},
+ * {@link net.minecraft.nbt.NbtIntArray} and {@link net.minecraft.nbt.NbtLongArray}, made once per view when it is
+ * first accessed, so that writes to them never reach the viewed tag.
+ *
+ * @author B0IIZZ
+ */
+public final class ReadOnlyNbt {
+
+	/**
+	 * A read-only empty compound
+	 */
+	public static final NbtCompound EMPTY = of(new NbtCompound());
+
+	private static final Logger LOGGER = LogManager.getLogger("AdvancedNbtTooltip");
+
+	private static final Set<Identifier> REPORTED = ConcurrentHashMap.newKeySet();
+
+	private ReadOnlyNbt() {
+	}
+
+	/**
+	 * @param compound A compound
+	 * @return A read-only view of the compound, or the compound itself if it already is one
+	 */
+	public static NbtCompound of(NbtCompound compound) {
+		Map<String, NbtElement> entries = ((NbtCompoundAccessor) compound).advancednbttooltip$getEntries();
+		if (entries instanceof Entries)
+			return compound;
+		return NbtCompoundAccessor.advancednbttooltip$create(new Entries(entries));
+	}
+
+	/**
+	 * @param list A list
+	 * @return A read-only view of the list, or the list itself if it already is one
+	 */
+	public static NbtList of(NbtList list) {
+		List<NbtElement> value = ((NbtListAccessor) list).advancednbttooltip$getValue();
+		if (value instanceof Elements)
+			return list;
+		return NbtListAccessor.advancednbttooltip$create(new Elements(value), list.getHeldType());
+	}
+
+	/**
+	 * Wraps a nested compound or list or copies a nested array, reusing the result of an earlier access to the same
+	 * element.
+	 */
+	private static NbtElement wrap(NbtElement element, Map<NbtElement, NbtElement> views) {
+		if (!(element instanceof AbstractNbtList<?>) && !(element instanceof NbtCompound))
+			return element;
+		NbtElement view = views.get(element);
+		if (view == null) {
+			if (element instanceof NbtCompound compound)
+				view = of(compound);
+			else if (element instanceof NbtList list)
+				view = of(list);
+			else
+				view = element.copy();
+			views.put(element, view);
+		}
+		return view;
+	}
+
+	/**
+	 * Logs that a tooltip tried to modify a read-only tag. Each tooltip is only reported once.
+	 *
+	 * @param id        The id of the tooltip
+	 * @param exception The exception thrown by the modification
+	 */
+	public static void reportModification(Identifier id, ModificationException exception) {
+		if (REPORTED.add(id))
+			LOGGER.warn("Tooltip {} tried to modify the NBT of an item and has been skipped", id, exception);
+	}
+
+	/**
+	 * Thrown when a read-only view is modified.
+	 *
+	 * @author B0IIZZ
+	 */
+	public static final class ModificationException extends UnsupportedOperationException {
+
+		private ModificationException() {
+			super("Tried to modify a read-only NBT element");
+		}
+
+	}
+
+	private static final class Entries extends AbstractMap<String, NbtElement> {
+
+		private final Map<String, NbtElement> entries;
+		private Map<NbtElement, NbtElement> views;
+
+		private Entries(Map<String, NbtElement> entries) {
+			this.entries = entries;
+		}
+
+		private NbtElement wrap(NbtElement element) {
+			if (views == null)
+				views = new IdentityHashMap<>();
+			return ReadOnlyNbt.wrap(element, views);
+		}
+
+		@Override
+		public NbtElement get(Object key) {
+			return wrap(entries.get(key));
+		}
+
+		@Override
+		public NbtElement put(String key, NbtElement value) {
+			throw new ModificationException();
+		}
+
+		@Override
+		public NbtElement remove(Object key) {
+			throw new ModificationException();
+		}
+
+		@Override
+		public void clear() {
+			throw new ModificationException();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return entries.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return entries.size();
+		}
+
+		@Override
+		public Set<String> keySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<String> iterator() {
+					Iterator<String> iterator = entries.keySet().iterator();
+					return new Iterator<>() {
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public String next() {
+							return iterator.next();
+						}
+
+						@Override
+						public void remove() {
+							throw new ModificationException();
+						}
+					};
+				}
+
+				@Override
+				public boolean contains(Object key) {
+					return entries.containsKey(key);
+				}
+
+				@Override
+				public int size() {
+					return entries.size();
+				}
+			};
+		}
+
+		@Override
+		public Set<Entry<String, NbtElement>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<String, NbtElement>> iterator() {
+					Iterator<Entry<String, NbtElement>> iterator = entries.entrySet().iterator();
+					return new Iterator<>() {
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Entry<String, NbtElement> next() {
+							Entry<String, NbtElement> entry = iterator.next();
+							return new SimpleImmutableEntry<>(entry.getKey(), wrap(entry.getValue()));
+						}
+
+						@Override
+						public void remove() {
+							throw new ModificationException();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return entries.size();
+				}
+			};
+		}
+	}
+
+	private static final class Elements extends AbstractList<NbtElement> implements RandomAccess {
+
+		private final List<NbtElement> value;
+		private Map<NbtElement, NbtElement> views;
+
+		private Elements(List<NbtElement> value) {
+			this.value = value;
+		}
+
+		@Override
+		public NbtElement get(int index) {
+			if (views == null)
+				views = new IdentityHashMap<>();
+			return wrap(value.get(index), views);
+		}
+
+		@Override
+		public NbtElement set(int index, NbtElement element) {
+			throw new ModificationException();
+		}
+
+		@Override
+		public void add(int index, NbtElement element) {
+			throw new ModificationException();
+		}
+
+		@Override
+		public NbtElement remove(int index) {
+			throw new ModificationException();
+		}
+
+		@Override
+		public int size() {
+			return value.size();
+		}
+	}
+
+}
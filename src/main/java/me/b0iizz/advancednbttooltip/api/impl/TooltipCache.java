@@ -0,0 +1,182 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import net.minecraft.client.gui.tooltip.TooltipComponent;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of the custom tooltip lines of recently hovered stacks. An entry is reused for every stack with the
+ * same item and a tag with the same {@link NbtFingerprint fingerprint}, as long as the {@link TooltipContext} and an
+ * optional state object are equal and neither the tooltips nor the config have changed since. Stacks with equal
+ * content therefore share one entry. The least recently used entries are evicted
+ * once the cache holds more than {@link #MAX_ENTRIES} entries or more than about {@link #MAX_BYTES} bytes.
+ *
+ * @author B0IIZZ
+ */
+public final class TooltipCache {
+
+	/**
+	 * The maximum number of cached stacks
+	 */
+	public static final int MAX_ENTRIES = 256;
+
+	/**
+	 * The maximum estimated size of all cached tooltips in bytes
+	 */
+	public static final long MAX_BYTES = 1 << 20;
+
+	private static final int ENTRY_BYTES = 96;
+	private static final int COMPONENT_BYTES = 64;
+
+	private final Map<Key, List<TooltipComponent>> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long bytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Returns the cached tooltip of the stack or computes and caches it.
+	 *
+	 * @param stack      The stack
+	 * @param context    The context of the tooltip
+	 * @param state      Any other object the tooltip depends on, compared with {@link Object#equals(Object)}, or
+	 *                   <b>null</b>
+	 * @param registry   The registry the tooltip is computed from
+	 * @param generation The current {@link me.b0iizz.advancednbttooltip.config.ConfigManager#getGeneration() config
+	 *                   generation}
+	 * @param compute    Computes the tooltip of the stack when it is not cached
+	 * @return The unmodifiable tooltip lines
+	 */
+	public synchronized List<TooltipComponent> get(ItemStack stack, TooltipContext context, @Nullable Object state,
+			TooltipRegistry registry, int generation, Supplier<List<TooltipComponent>> compute) {
+		NbtCompound nbt = stack.getNbt();
+		Key key = new Key(stack.getItem(), nbt == null ? 0 : NbtFingerprint.of(nbt), context, state, registry,
+				generation);
+		List<TooltipComponent> result = entries.get(key);
+		if (result != null) {
+			hits++;
+			return result;
+		}
+		misses++;
+		result = Collections.unmodifiableList(compute.get());
+		entries.put(key, result);
+		bytes += estimateBytes(result);
+		evict();
+		return result;
+	}
+
+	private void evict() {
+		Iterator<List<TooltipComponent>> iterator = entries.values().iterator();
+		while ((entries.size() > MAX_ENTRIES || bytes > MAX_BYTES) && iterator.hasNext()) {
+			bytes -= estimateBytes(iterator.next());
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	private static long estimateBytes(List<TooltipComponent> tooltip) {
+		return ENTRY_BYTES + (long) COMPONENT_BYTES * tooltip.size();
+	}
+
+	/**
+	 * Removes all entries. Statistics are kept.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * @return The number of times a cached tooltip was returned
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return The number of times a tooltip needed to be computed
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return The number of entries evicted because the cache was full
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return The number of cached stacks
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters.
+	 */
+	public synchronized void resetStats() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	/**
+	 * The key of a cached tooltip. The registry is compared by identity.
+	 */
+	private record Key(Item item, long fingerprint, TooltipContext context, Object state, TooltipRegistry registry,
+			int generation) {
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key other && item == other.item && fingerprint == other.fingerprint
+					&& Objects.equals(state, other.state) && registry == other.registry && generation == other.generation
+					&& Objects.equals(context, other.context);
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = System.identityHashCode(item);
+			hash = 31 * hash + Long.hashCode(fingerprint);
+			hash = 31 * hash + Objects.hashCode(context);
+			hash = 31 * hash + Objects.hashCode(state);
+			return 31 * hash + generation;
+		}
+	}
+
+}
@@ -0,0 +1,256 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import me.b0iizz.advancednbttooltip.api.TooltipCondition;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.HasTagCondition;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.IsItemCondition;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.OrCondition;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.TagMatchesCondition;
+import net.minecraft.client.gui.tooltip.TooltipComponent;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NbtCompound;
+
+import java.util.*;
+
+/**
+ * An index of all loaded tooltips by the {@link Item Items} they can apply to and the root NBT keys they require.
+ * Tooltips whose conditions contain an {@link IsItemCondition is_item} condition with a constant list of items are only
+ * listed for these items, all other tooltips are listed for every item. Within these lists, tooltips guarded by a
+ * {@link HasTagCondition has_tag} or {@link TagMatchesCondition tag_matches} condition on a constant path are only
+ * evaluated when the stack's tag contains the first key of that path.
+ *
+ * @author B0IIZZ
+ */
+public final class TooltipIndex {
+
+	/**
+	 * An index without any tooltips
+	 */
+	public static final TooltipIndex EMPTY = new TooltipIndex(new Bucket(new CompiledTooltip[0]),
+			Collections.emptyMap());
+
+	/**
+	 * The order tooltips are shown in: by descending priority, then by id
+	 */
+	private static final Comparator<CompiledTooltip> ORDER = Comparator
+			.comparingInt(CompiledTooltip::getPriority).reversed()
+			.thenComparing(tooltip -> tooltip.getId().toString());
+
+	private final Bucket generic;
+	private final Map<Item, Bucket> byItem;
+
+	private TooltipIndex(Bucket generic, Map<Item, Bucket> byItem) {
+		this.generic = generic;
+		this.byItem = byItem;
+	}
+
+	/**
+	 * Builds the index of the given tooltips, which are ordered by their priority and id.
+	 *
+	 * @param tooltips The enabled tooltips
+	 * @return The index
+	 */
+	public static TooltipIndex build(Collection<CompiledTooltip> tooltips) {
+		List<CompiledTooltip> ordered = new ArrayList<>(tooltips);
+		ordered.sort(ORDER);
+
+		List<CompiledTooltip> generic = new ArrayList<>();
+		Map<CompiledTooltip, Set<Item>> itemSpecific = new IdentityHashMap<>();
+		Set<Item> indexedItems = new LinkedHashSet<>();
+		for (CompiledTooltip tooltip : ordered) {
+			Set<Item> items = getItems(tooltip);
+			if (items == null) {
+				generic.add(tooltip);
+			} else {
+				itemSpecific.put(tooltip, items);
+				indexedItems.addAll(items);
+			}
+		}
+
+		Map<Item, Bucket> byItem = new IdentityHashMap<>();
+		for (Item item : indexedItems) {
+			List<CompiledTooltip> applicable = new ArrayList<>();
+			for (CompiledTooltip tooltip : ordered) {
+				Set<Item> items = itemSpecific.get(tooltip);
+				if (items == null || items.contains(item))
+					applicable.add(tooltip);
+			}
+			byItem.put(item, new Bucket(applicable.toArray(CompiledTooltip[]::new)));
+		}
+
+		return new TooltipIndex(new Bucket(generic.toArray(CompiledTooltip[]::new)), byItem);
+	}
+
+	/**
+	 * @param item An item
+	 * @return All tooltips which can apply to the item in their order. The array must not be modified.
+	 */
+	public CompiledTooltip[] get(Item item) {
+		return bucket(item).tooltips;
+	}
+
+	/**
+	 * Appends the tooltips of all tooltips which can apply to the item and tag. Tooltips which try to modify a
+	 * {@link ReadOnlyNbt read-only} tag are skipped.
+	 *
+	 * @param item    The {@link Item} the tooltip will be added to.
+	 * @param tag     The Item's {@link NbtCompound NBT-tag}.
+	 * @param context The current {@link TooltipContext}.
+	 * @param tooltip The list the components are appended to.
+	 */
+	public void appendTooltip(Item item, NbtCompound tag, TooltipContext context, List<TooltipComponent> tooltip) {
+		Bucket bucket = bucket(item);
+		long[] selected = bucket.select(tag);
+		for (int word = 0; word < selected.length; word++) {
+			long bits = selected[word];
+			while (bits != 0) {
+				CompiledTooltip compiled = bucket.tooltips[(word << 6) + Long.numberOfTrailingZeros(bits)];
+				try {
+					compiled.appendTooltip(item, tag, context, tooltip);
+				} catch (ReadOnlyNbt.ModificationException e) {
+					ReadOnlyNbt.reportModification(compiled.getId(), e);
+				}
+				bits &= bits - 1;
+			}
+		}
+	}
+
+	private Bucket bucket(Item item) {
+		Bucket bucket = byItem.get(item);
+		return bucket != null ? bucket : generic;
+	}
+
+	/**
+	 * @return The items a tooltip is restricted to or <b>null</b> if it can apply to any item
+	 */
+	private static Set<Item> getItems(CompiledTooltip tooltip) {
+		Set<Item> result = null;
+		for (TooltipCondition condition : tooltip.getConditions()) {
+			Set<Item> items = getItems(condition);
+			if (items == null)
+				continue;
+			if (result == null)
+				result = new HashSet<>(items);
+			else
+				result.retainAll(items);
+		}
+		return result;
+	}
+
+	private static Set<Item> getItems(TooltipCondition condition) {
+		if (condition instanceof IsItemCondition isItem)
+			return isItem.getStaticItems();
+		if (condition instanceof OrCondition or && or.conditions != null) {
+			Set<Item> result = new HashSet<>();
+			for (TooltipCondition child : or.conditions) {
+				if (child == null || child == TooltipCondition.FALSE)
+					continue;
+				Set<Item> items = getItems(child);
+				if (items == null)
+					return null;
+				result.addAll(items);
+			}
+			return result;
+		}
+		return null;
+	}
+
+	/**
+	 * @return The root keys of which a tooltip requires at least one or <b>null</b> if it does not require any
+	 */
+	private static Set<String> getRootKeys(CompiledTooltip tooltip) {
+		for (TooltipCondition condition : tooltip.getConditions()) {
+			Set<String> keys = getRootKeys(condition);
+			if (keys != null)
+				return keys;
+		}
+		return null;
+	}
+
+	private static Set<String> getRootKeys(TooltipCondition condition) {
+		if (condition instanceof HasTagCondition hasTag)
+			return hasTag.getRootKeys();
+		if (condition instanceof TagMatchesCondition tagMatches)
+			return tagMatches.getRootKeys();
+		if (condition instanceof OrCondition or && or.conditions != null) {
+			Set<String> result = new HashSet<>();
+			for (TooltipCondition child : or.conditions) {
+				if (child == null || child == TooltipCondition.FALSE)
+					continue;
+				Set<String> keys = getRootKeys(child);
+				if (keys == null)
+					return null;
+				result.addAll(keys);
+			}
+			return result;
+		}
+		return null;
+	}
+
+	/**
+	 * An ordered array of tooltips together with bitsets selecting the tooltips which can apply to a tag
+	 */
+	private static final class Bucket {
+
+		private final CompiledTooltip[] tooltips;
+		private final long[] unkeyed;
+		private final Map<String, long[]> byKey = new HashMap<>();
+
+		private Bucket(CompiledTooltip[] tooltips) {
+			this.tooltips = tooltips;
+			this.unkeyed = new long[(tooltips.length + 63) >> 6];
+			for (int i = 0; i < tooltips.length; i++) {
+				Set<String> keys = getRootKeys(tooltips[i]);
+				if (keys == null) {
+					set(unkeyed, i);
+					continue;
+				}
+				for (String key : keys)
+					set(byKey.computeIfAbsent(key, k -> new long[unkeyed.length]), i);
+			}
+		}
+
+		private static void set(long[] bits, int index) {
+			bits[index >> 6] |= 1L << index;
+		}
+
+		/**
+		 * @return The bitset of all tooltips which can apply to the tag
+		 */
+		private long[] select(NbtCompound tag) {
+			if (byKey.isEmpty() || tag.isEmpty())
+				return unkeyed;
+			long[] selected = unkeyed.clone();
+			for (String key : tag.getKeys()) {
+				long[] bits = byKey.get(key);
+				if (bits != null)
+					for (int i = 0; i < selected.length; i++)
+						selected[i] |= bits[i];
+			}
+			return selected;
+		}
+	}
+
+}
@@ -0,0 +1,153 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import com.google.common.collect.ImmutableMap;
+import me.b0iizz.advancednbttooltip.api.CustomTooltip;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * An immutable snapshot of all loaded tooltips. A new registry is built on every resource reload and replaces the
+ * previous one as a whole, so readers always see a consistent set of tooltips without any locking. <br>
+ * Every tooltip is assigned an ordinal by its id, and whether it is enabled is stored as a bit at that ordinal. Only
+ * enabled tooltips are part of the {@link TooltipIndex}, so toggling a tooltip creates a new registry as well.
+ *
+ * @author B0IIZZ
+ */
+public final class TooltipRegistry {
+
+	/**
+	 * A registry without any tooltips
+	 */
+	public static final TooltipRegistry EMPTY = new TooltipRegistry(ImmutableMap.of(), new CompiledTooltip[0],
+			ImmutableMap.of(), new long[0]);
+
+	private final ImmutableMap<Identifier, CustomTooltip> tooltips;
+	private final CompiledTooltip[] byOrdinal;
+	private final ImmutableMap<Identifier, Integer> ordinals;
+	private final long[] enabled;
+	private final TooltipIndex index;
+
+	private TooltipRegistry(ImmutableMap<Identifier, CustomTooltip> tooltips, CompiledTooltip[] byOrdinal,
+			ImmutableMap<Identifier, Integer> ordinals, long[] enabled) {
+		this.tooltips = tooltips;
+		this.byOrdinal = byOrdinal;
+		this.ordinals = ordinals;
+		this.enabled = enabled;
+
+		List<CompiledTooltip> enabledTooltips = new ArrayList<>();
+		for (int ordinal = 0; ordinal < byOrdinal.length; ordinal++)
+			if (isEnabled(ordinal))
+				enabledTooltips.add(byOrdinal[ordinal]);
+		this.index = TooltipIndex.build(enabledTooltips);
+	}
+
+	/**
+	 * Compiles and indexes the given tooltips. The map is not modified or retained.
+	 *
+	 * @param tooltips  The loaded tooltips by their id
+	 * @param isEnabled Whether the tooltip with an id is enabled
+	 * @return A registry of the compiled tooltips
+	 */
+	public static TooltipRegistry build(Map<Identifier, CustomTooltip> tooltips, Predicate<Identifier> isEnabled) {
+		CompiledTooltip[] byOrdinal = tooltips.entrySet().stream()
+				.map(entry -> CompiledTooltip.compile(entry.getKey(), entry.getValue()))
+				.sorted(Comparator.comparing(tooltip -> tooltip.getId().toString()))
+				.toArray(CompiledTooltip[]::new);
+
+		ImmutableMap.Builder<Identifier, CustomTooltip> map = ImmutableMap.builderWithExpectedSize(byOrdinal.length);
+		ImmutableMap.Builder<Identifier, Integer> ordinals = ImmutableMap.builderWithExpectedSize(byOrdinal.length);
+		long[] enabled = new long[(byOrdinal.length + 63) >> 6];
+		for (int ordinal = 0; ordinal < byOrdinal.length; ordinal++) {
+			Identifier id = byOrdinal[ordinal].getId();
+			map.put(id, tooltips.get(id));
+			ordinals.put(id, ordinal);
+			if (isEnabled.test(id))
+				enabled[ordinal >> 6] |= 1L << ordinal;
+		}
+		return new TooltipRegistry(map.build(), byOrdinal, ordinals.build(), enabled);
+	}
+
+	/**
+	 * @param id      The id of a tooltip
+	 * @param enabled Whether the tooltip should be enabled
+	 * @return A registry with the tooltip enabled or disabled, or this registry if nothing changes
+	 */
+	public TooltipRegistry withEnabled(Identifier id, boolean enabled) {
+		Integer ordinal = ordinals.get(id);
+		if (ordinal == null || isEnabled(ordinal) == enabled)
+			return this;
+		long[] bits = Arrays.copyOf(this.enabled, this.enabled.length);
+		bits[ordinal >> 6] ^= 1L << ordinal;
+		return new TooltipRegistry(tooltips, byOrdinal, ordinals, bits);
+	}
+
+	/**
+	 * @param isEnabled Whether the tooltip with an id should be enabled
+	 * @return A registry with every tooltip enabled or disabled, or this registry if nothing changes
+	 */
+	public TooltipRegistry withEnabled(Predicate<Identifier> isEnabled) {
+		long[] bits = new long[enabled.length];
+		for (int ordinal = 0; ordinal < byOrdinal.length; ordinal++)
+			if (isEnabled.test(byOrdinal[ordinal].getId()))
+				bits[ordinal >> 6] |= 1L << ordinal;
+		if (Arrays.equals(bits, enabled))
+			return this;
+		return new TooltipRegistry(tooltips, byOrdinal, ordinals, bits);
+	}
+
+	private boolean isEnabled(int ordinal) {
+		return (enabled[ordinal >> 6] & 1L << ordinal) != 0;
+	}
+
+	/**
+	 * @return All tooltips by their id, as they were loaded. The registry evaluates their compiled form, so changes
+	 * made to them are not shown until the registry is rebuilt.
+	 */
+	public Map<Identifier, CustomTooltip> getTooltips() {
+		return tooltips;
+	}
+
+	/**
+	 * @return All tooltips as they were loaded, as an immutable set of entries
+	 */
+	public Set<Map.Entry<Identifier, CustomTooltip>> getEntries() {
+		return tooltips.entrySet();
+	}
+
+	/**
+	 * @return The index of the enabled tooltips by the items and NBT keys they apply to
+	 */
+	public TooltipIndex getIndex() {
+		return index;
+	}
+
+}
@@ -0,0 +1,105 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.AbstractNbtNumber;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtString;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for reading the values of a {@link TooltipFactory} without going through its rendered text when the factory
+ * provides {@link TooltipFactory#getTooltipValues typed values}.
+ *
+ * @author B0IIZZ
+ */
+public final class TooltipValues {
+
+	private static final Pattern NUMBER_SUFFIX = Pattern.compile("[A-Za-z]$");
+
+	private TooltipValues() {
+	}
+
+	/**
+	 * Evaluates the values of a factory. Factories which do not provide typed values are evaluated as text and every
+	 * line is returned as a {@link NbtString}.
+	 *
+	 * @param factory The factory to be evaluated
+	 * @param item    The {@link Item} the tooltip will be added to.
+	 * @param tag     The Item's {@link NbtCompound NBT-tag}.
+	 * @param context The current {@link TooltipContext}.
+	 * @return One {@link NbtElement} per value of the factory
+	 */
+	public static List<NbtElement> get(TooltipFactory factory, Item item, NbtCompound tag, TooltipContext context) {
+		List<NbtElement> values = factory.getTooltipValues(item, tag, context);
+		if (values != null)
+			return values;
+		List<Text> texts = factory.getTooltipText(item, tag, context);
+		List<NbtElement> result = new ArrayList<>(texts.size());
+		for (Text text : texts)
+			result.add(NbtString.of(text.getString()));
+		return result;
+	}
+
+	/**
+	 * Reads a number from a value. Numeric tags are used directly, anything else is parsed from its string form,
+	 * ignoring a trailing type suffix like in <code>5b</code>.
+	 *
+	 * @param value A value
+	 * @return The number stored in the value
+	 * @throws NumberFormatException when the value is not a number
+	 */
+	public static Number asNumber(NbtElement value) {
+		if (value instanceof AbstractNbtNumber number)
+			return number.numberValue();
+		return new BigDecimal(NUMBER_SUFFIX.matcher(value.asString().trim()).replaceAll(""));
+	}
+
+	/**
+	 * @param value A value
+	 * @return The string form of the value
+	 */
+	public static String asString(NbtElement value) {
+		return value.asString();
+	}
+
+	/**
+	 * @param value A value
+	 * @return The {@link Identifier} stored in the value
+	 * @throws net.minecraft.util.InvalidIdentifierException when the value is not a valid identifier
+	 */
+	public static Identifier asIdentifier(NbtElement value) {
+		return new Identifier(value.asString());
+	}
+
+}
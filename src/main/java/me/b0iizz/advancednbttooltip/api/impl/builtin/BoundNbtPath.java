@@ -0,0 +1,63 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl.builtin;
+
+/**
+ * A {@link CompiledNbtPath} which was bound into a node when the tooltip was loaded.
+ *
+ * @author B0IIZZ
+ */
+final class BoundNbtPath {
+
+	/**
+	 * The path as written in the tooltip
+	 */
+	final String string;
+
+	/**
+	 * The parsed path
+	 */
+	final CompiledNbtPath path;
+
+	/**
+	 * The keys of the path if it only consists of plain compound keys, otherwise <b>null</b>
+	 */
+	final String[] keys;
+
+	/**
+	 * The index of this path's result in the {@link NbtPathTrie} or -1 if this path is not part of it
+	 */
+	int slot = -1;
+
+	BoundNbtPath(String string, CompiledNbtPath path) {
+		this.string = string;
+		this.path = path;
+		this.keys = path.keys();
+	}
+
+	@Override
+	public String toString() {
+		return string;
+	}
+
+}
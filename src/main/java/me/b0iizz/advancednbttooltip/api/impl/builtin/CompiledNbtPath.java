@@ -0,0 +1,314 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl.builtin;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import net.minecraft.nbt.*;
+import net.minecraft.text.Text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An evaluator for the syntax of {@link net.minecraft.command.argument.NbtPathArgumentType.NbtPath NbtPaths}. Unlike
+ * {@link net.minecraft.command.argument.NbtPathArgumentType.NbtPath#get(NbtElement) NbtPath.get}, it visits the tree
+ * only once, depth first, and reports a miss by returning <b>null</b> instead of throwing an exception. Paths which
+ * only consist of plain compound keys are detected when parsing and walked directly with {@link NbtCompound#get}.
+ *
+ * @author B0IIZZ
+ */
+final class CompiledNbtPath {
+
+	private static final SimpleCommandExceptionType INVALID_NODE = new SimpleCommandExceptionType(
+			Text.translatable("arguments.nbtpath.node.invalid"));
+
+	private static final byte NAMED = 0;
+	private static final byte FILTERED_NAMED = 1;
+	private static final byte FILTERED_ROOT = 2;
+	private static final byte ALL_ELEMENTS = 3;
+	private static final byte INDEXED_ELEMENT = 4;
+	private static final byte FILTERED_ELEMENTS = 5;
+
+	private final String string;
+	private final byte[] ops;
+	private final String[] names;
+	private final NbtCompound[] filters;
+	private final int[] indices;
+	private final String[] keys;
+
+	private CompiledNbtPath(String string, byte[] ops, String[] names, NbtCompound[] filters, int[] indices) {
+		this.string = string;
+		this.ops = ops;
+		this.names = names;
+		this.filters = filters;
+		this.indices = indices;
+
+		boolean onlyKeys = ops.length > 0;
+		for (byte op : ops)
+			onlyKeys &= op == NAMED;
+		this.keys = onlyKeys ? names : null;
+	}
+
+	/**
+	 * Parses a path in the syntax of {@link net.minecraft.command.argument.NbtPathArgumentType NbtPathArgumentType}.
+	 *
+	 * @param string The path
+	 * @return The parsed path
+	 * @throws CommandSyntaxException if the path is invalid
+	 */
+	static CompiledNbtPath parse(String string) throws CommandSyntaxException {
+		StringReader reader = new StringReader(string);
+		List<Byte> ops = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		List<NbtCompound> filters = new ArrayList<>();
+		List<Integer> indices = new ArrayList<>();
+
+		boolean root = true;
+		while (reader.canRead() && reader.peek() != ' ') {
+			String name = null;
+			NbtCompound filter = null;
+			int index = 0;
+			byte op;
+
+			switch (reader.peek()) {
+				case '{' -> {
+					if (!root)
+						throw INVALID_NODE.createWithContext(reader);
+					filter = new StringNbtReader(reader).parseCompound();
+					op = FILTERED_ROOT;
+				}
+				case '[' -> {
+					reader.skip();
+					if (reader.canRead() && reader.peek() == '{') {
+						filter = new StringNbtReader(reader).parseCompound();
+						reader.expect(']');
+						op = FILTERED_ELEMENTS;
+					} else if (reader.canRead() && reader.peek() == ']') {
+						reader.skip();
+						op = ALL_ELEMENTS;
+					} else {
+						index = reader.readInt();
+						reader.expect(']');
+						op = INDEXED_ELEMENT;
+					}
+				}
+				default -> {
+					name = reader.peek() == '"' ? reader.readString() : readName(reader);
+					if (reader.canRead() && reader.peek() == '{') {
+						filter = new StringNbtReader(reader).parseCompound();
+						op = FILTERED_NAMED;
+					} else {
+						op = NAMED;
+					}
+				}
+			}
+
+			ops.add(op);
+			names.add(name);
+			filters.add(filter);
+			indices.add(index);
+			root = false;
+
+			if (!reader.canRead())
+				continue;
+			char c = reader.peek();
+			if (c == ' ' || c == '[' || c == '{')
+				continue;
+			reader.expect('.');
+		}
+
+		byte[] opArray = new byte[ops.size()];
+		int[] indexArray = new int[indices.size()];
+		for (int i = 0; i < opArray.length; i++) {
+			opArray[i] = ops.get(i);
+			indexArray[i] = indices.get(i);
+		}
+		return new CompiledNbtPath(string, opArray, names.toArray(String[]::new), filters.toArray(NbtCompound[]::new),
+				indexArray);
+	}
+
+	private static String readName(StringReader reader) throws CommandSyntaxException {
+		int start = reader.getCursor();
+		while (reader.canRead() && isNameCharacter(reader.peek()))
+			reader.skip();
+		if (reader.getCursor() == start)
+			throw INVALID_NODE.createWithContext(reader);
+		return reader.getString().substring(start, reader.getCursor());
+	}
+
+	private static boolean isNameCharacter(char c) {
+		return c != ' ' && c != '"' && c != '[' && c != ']' && c != '.' && c != '{' && c != '}';
+	}
+
+	/**
+	 * Appends all elements at this path to a buffer.
+	 *
+	 * @param root The element to start at
+	 * @param out  The buffer to append to or <b>null</b>, in which case a list is only created when something was found
+	 * @return The buffer, or <b>null</b> if nothing was found and no buffer was given
+	 */
+	List<NbtElement> collect(NbtElement root, List<NbtElement> out) {
+		if (keys != null) {
+			NbtElement element = get(root);
+			if (element == null)
+				return out;
+			if (out == null)
+				out = new ArrayList<>(1);
+			out.add(element);
+			return out;
+		}
+		return visit(0, root, out);
+	}
+
+	/**
+	 * @return The key this path starts with or <b>null</b> if it does not start with a compound key
+	 */
+	String rootKey() {
+		return ops.length > 0 && (ops[0] == NAMED || ops[0] == FILTERED_NAMED) ? names[0] : null;
+	}
+
+	/**
+	 * @return The keys of this path if it only consists of plain compound keys, otherwise <b>null</b>
+	 */
+	String[] keys() {
+		return keys;
+	}
+
+	/**
+	 * Looks up a path consisting of plain compound keys.
+	 *
+	 * @param root The element to start at
+	 * @return The element at this path or <b>null</b> if there is none
+	 * @throws IllegalStateException if this path does not only consist of plain keys
+	 */
+	NbtElement get(NbtElement root) {
+		if (keys == null)
+			throw new IllegalStateException("Path %s is not a plain key path".formatted(string));
+		NbtElement element = root;
+		for (String key : keys) {
+			if (!(element instanceof NbtCompound compound))
+				return null;
+			element = compound.get(key);
+		}
+		return element;
+	}
+
+	/**
+	 * Tests the elements at this path until one matches, without collecting them.
+	 *
+	 * @param root      The element to start at
+	 * @param predicate The predicate to test the elements with
+	 * @return true as soon as an element at this path matches the predicate
+	 */
+	boolean anyMatch(NbtElement root, Predicate<NbtElement> predicate) {
+		if (keys != null) {
+			NbtElement element = get(root);
+			return element != null && predicate.test(element);
+		}
+		return anyMatch(0, root, predicate);
+	}
+
+	/**
+	 * Applies a node which results in at most one element.
+	 *
+	 * @return The resulting element or <b>null</b> if there is none
+	 */
+	private NbtElement step(int node, NbtElement element) {
+		switch (ops[node]) {
+			case NAMED:
+				return element instanceof NbtCompound compound ? compound.get(names[node]) : null;
+			case FILTERED_NAMED:
+				element = element instanceof NbtCompound compound ? compound.get(names[node]) : null;
+				return element != null && NbtHelper.matches(filters[node], element, true) ? element : null;
+			case FILTERED_ROOT:
+				return NbtHelper.matches(filters[node], element, true) ? element : null;
+			case INDEXED_ELEMENT:
+				if (element instanceof AbstractNbtList<?> list) {
+					int index = indices[node] < 0 ? list.size() + indices[node] : indices[node];
+					return index >= 0 && index < list.size() ? list.get(index) : null;
+				}
+				return null;
+			default:
+				throw new IllegalStateException();
+		}
+	}
+
+	private boolean anyMatch(int node, NbtElement element, Predicate<NbtElement> predicate) {
+		for (; node < ops.length; node++) {
+			switch (ops[node]) {
+				case ALL_ELEMENTS:
+					if (element instanceof AbstractNbtList<?> list)
+						for (NbtElement child : list)
+							if (anyMatch(node + 1, child, predicate))
+								return true;
+					return false;
+				case FILTERED_ELEMENTS:
+					if (element instanceof NbtList list)
+						for (NbtElement child : list)
+							if (NbtHelper.matches(filters[node], child, true) && anyMatch(node + 1, child, predicate))
+								return true;
+					return false;
+				default:
+					element = step(node, element);
+			}
+			if (element == null)
+				return false;
+		}
+		return predicate.test(element);
+	}
+
+	private List<NbtElement> visit(int node, NbtElement element, List<NbtElement> out) {
+		for (; node < ops.length; node++) {
+			switch (ops[node]) {
+				case ALL_ELEMENTS:
+					if (element instanceof AbstractNbtList<?> list)
+						for (NbtElement child : list)
+							out = visit(node + 1, child, out);
+					return out;
+				case FILTERED_ELEMENTS:
+					if (element instanceof NbtList list)
+						for (NbtElement child : list)
+							if (NbtHelper.matches(filters[node], child, true))
+								out = visit(node + 1, child, out);
+					return out;
+				default:
+					element = step(node, element);
+			}
+			if (element == null)
+				return out;
+		}
+		if (out == null)
+			out = new ArrayList<>();
+		out.add(element);
+		return out;
+	}
+
+	@Override
+	public String toString() {
+		return string;
+	}
+
+}
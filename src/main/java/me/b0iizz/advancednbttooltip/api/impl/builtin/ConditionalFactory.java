@@ -26,10 +26,12 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipCondition;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.gui.tooltip.TooltipComponent;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.text.Text;
 
 import java.util.List;
@@ -41,7 +43,7 @@ import java.util.List;
  * @author B0IIZZ
  */
 @TooltipCode("conditional")
-public class ConditionalFactory implements TooltipFactory {
+public class ConditionalFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * The factory used when the condition is true
@@ -71,4 +73,18 @@ public class ConditionalFactory implements TooltipFactory {
 		return (condition != null && condition.isEnabled(item, tag, context) ? success : fail).getTooltip(item, tag, context);
 	}
 
+	@Override
+	public List<NbtElement> getTooltipValues(Item item, NbtCompound tag, TooltipContext context) {
+		return (condition != null && condition.isEnabled(item, tag, context) ? success : fail).getTooltipValues(item, tag, context);
+	}
+
+	@Override
+	public TooltipFactory fold() {
+		if (condition == null || condition == TooltipCondition.FALSE)
+			return fail;
+		if (condition == TooltipCondition.TRUE)
+			return success;
+		return this;
+	}
+
 }
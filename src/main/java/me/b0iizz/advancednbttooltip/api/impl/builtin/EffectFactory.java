@@ -26,19 +26,21 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Suggested;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.TooltipValues;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.entity.effect.StatusEffect;
 import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffectUtil;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtInt;
 import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Stream;
 
 /**
  * Creates per line a minecraft effect formatting according to id, duration and
@@ -69,10 +71,10 @@ public class EffectFactory implements TooltipFactory {
 
 	@Override
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
-		List<Text> rawIds = rawId.getTooltipText(item, tag, context);
-		List<Text> durations = duration.getTooltipText(item, tag, context);
-		List<Text> strengths = strength != null ? strength.getTooltipText(item, tag, context)
-				: Stream.generate(() -> Text.of("0")).limit(rawIds.size()).toList();
+		List<NbtElement> rawIds = TooltipValues.get(rawId, item, tag, context);
+		List<NbtElement> durations = TooltipValues.get(duration, item, tag, context);
+		List<NbtElement> strengths = strength != null ? TooltipValues.get(strength, item, tag, context)
+				: Collections.nCopies(rawIds.size(), NbtInt.of(0));
 
 		int numEffects = Math.max(rawIds.size(),
 				Math.max(durations.size(), strength == null ? 0 : strengths.size()));
@@ -83,11 +85,9 @@ public class EffectFactory implements TooltipFactory {
 			byte rawId;
 			int duration, strength;
 			try {
-				rawId = new BigDecimal(rawIds.get(i).getString().trim().replaceAll("[A-Za-z]$", "")).byteValue();
-				duration = new BigDecimal(durations.get(i).getString().trim().replaceAll("[A-Za-z]$", ""))
-						.intValue();
-				strength = new BigDecimal(strengths.get(i).getString().trim().replaceAll("[A-Za-z]$", ""))
-						.intValue();
+				rawId = TooltipValues.asNumber(rawIds.get(i)).byteValue();
+				duration = TooltipValues.asNumber(durations.get(i)).intValue();
+				strength = TooltipValues.asNumber(strengths.get(i)).intValue();
 			} catch (Throwable t) {
 				t.printStackTrace();
 				continue;
@@ -28,6 +28,7 @@ import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.text.Text;
 
 import java.util.Collections;
@@ -41,9 +42,9 @@ public class EnchantabilityFactory implements TooltipFactory {
 
 	@Override
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
-		ItemStack stack = new ItemStack(item);
-		stack.setNbt(tag);
-		if (!stack.isEnchantable()) return Collections.emptyList();
+		// The stack does not carry the tag, as setting it could modify it. No vanilla item looks at the NBT here.
+		if (!item.isEnchantable(new ItemStack(item))) return Collections.emptyList();
+		if (!tag.getList("Enchantments", NbtElement.COMPOUND_TYPE).isEmpty()) return Collections.emptyList();
 
 		return List.of(Text.of(String.valueOf(item.getEnchantability())));
 	}
@@ -26,6 +26,8 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Suggested;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.ConstantFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
@@ -35,7 +37,6 @@ import net.minecraft.util.Formatting;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A factory which can create {@link Formatting} on other factories
@@ -43,7 +44,7 @@ import java.util.stream.Collectors;
  * @author B0IIZZ
  */
 @TooltipCode("formatted")
-public class FormattedFactory implements TooltipFactory {
+public class FormattedFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * The factory to be formatted
@@ -87,8 +88,42 @@ public class FormattedFactory implements TooltipFactory {
 	@Suggested("color")
 	public String colorName = "";
 
+	private Formatting[] formatting;
+
 	@Override
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
+		if (formatting == null)
+			formatting = createFormatting();
+
+		List<Text> lines = text.getTooltipText(item, tag, context);
+		List<Text> result = new ArrayList<>(lines.size());
+		for (Text line : lines)
+			result.add(line.copy().formatted(formatting));
+
+		if (centered) {
+			int width = result.stream().map(MinecraftClient.getInstance().textRenderer::getWidth)
+					.max(Integer::compare).orElse(0);
+			result = result.stream().map(line -> {
+				Text centeredLine = line;
+				while (MinecraftClient.getInstance().textRenderer.getWidth(centeredLine) <= width) {
+					centeredLine = Text.of(" ").copy().append(centeredLine).append(Text.of(" "));
+				}
+				return centeredLine;
+			}).toList();
+		}
+
+		return result;
+	}
+
+	@Override
+	public TooltipFactory fold() {
+		formatting = createFormatting();
+		if (!centered && ConstantFactory.isConstant(text))
+			return ConstantFactory.of(this);
+		return this;
+	}
+
+	private Formatting[] createFormatting() {
 		ArrayList<Formatting> formattings = new ArrayList<>();
 
 		//noinspection ConstantConditions
@@ -105,23 +140,7 @@ public class FormattedFactory implements TooltipFactory {
 		if (obfuscated)
 			formattings.add(Formatting.OBFUSCATED);
 
-		final Formatting[] formatting = formattings.toArray(Formatting[]::new);
-		List<Text> result = text.getTooltipText(item, tag, context).stream()
-				.map(line -> line.copy().formatted(formatting)).collect(Collectors.toList());
-
-		if (centered) {
-			int width = result.stream().map(MinecraftClient.getInstance().textRenderer::getWidth)
-					.max(Integer::compare).orElse(0);
-			result = result.stream().map(line -> {
-				Text centeredLine = line;
-				while (MinecraftClient.getInstance().textRenderer.getWidth(centeredLine) <= width) {
-					centeredLine = Text.of(" ").copy().append(centeredLine).append(Text.of(" "));
-				}
-				return centeredLine;
-			}).toList();
-		}
-
-		return result;
+		return formattings.toArray(Formatting[]::new);
 	}
 
 }
@@ -27,11 +27,15 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Suggested;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipCondition;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 
+import java.util.Set;
+import java.util.function.Predicate;
+
 /**
  * A condition which is true when the item has a specific {@link NbtElement tag}
  * at a {@link net.minecraft.command.argument.NbtPathArgumentType.NbtPath}
@@ -39,7 +43,7 @@ import net.minecraft.nbt.NbtElement;
  * @author B0IIZZ
  */
 @TooltipCode("has_tag")
-public class HasTagCondition implements TooltipCondition {
+public class HasTagCondition implements TooltipCondition, Foldable<TooltipCondition> {
 
 	/**
 	 * The {@link net.minecraft.command.argument.NbtPathArgumentType.NbtPath} to search
@@ -53,11 +57,27 @@ public class HasTagCondition implements TooltipCondition {
 	@Suggested
 	public int type = -1;
 
+	private BoundNbtPath[] boundPaths;
+
+	private final Predicate<NbtElement> hasType = element -> this.type == -1 || element.getType() == this.type;
+
 	@Override
 	public boolean isEnabled(Item item, NbtCompound tag, TooltipContext context) {
-		return path.getTooltipText(item, tag, context).stream()
-				.flatMap(path -> NbtPathWrapper.getAll(path.getString(), tag).stream())
-				.anyMatch((t) -> this.type == -1 || t.getType() == this.type);
+		return NbtPathWrapper.anyMatch(boundPaths, path, item, tag, context, hasType);
+	}
+
+	/**
+	 * @return The root keys of which the tag needs to contain at least one for this condition to be fulfilled, or
+	 * <b>null</b> if they are not known at load time
+	 */
+	public Set<String> getRootKeys() {
+		return NbtPathWrapper.getRootKeys(boundPaths);
+	}
+
+	@Override
+	public TooltipCondition fold() {
+		boundPaths = NbtPathWrapper.bind(path);
+		return this;
 	}
 
 }
@@ -0,0 +1,81 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl.builtin;
+
+import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
+import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
+import me.b0iizz.advancednbttooltip.api.TooltipCondition;
+import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.ConstantFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
+import me.b0iizz.advancednbttooltip.api.impl.ItemTagSet;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.text.Text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A condition which is fulfilled when the item is contained in one of the
+ * specified item tags. Constant lists of tags are resolved whenever the tags
+ * are received from the server.
+ *
+ * @author B0IIZZ
+ */
+@TooltipCode("is_in_tag")
+public class IsInTagCondition implements TooltipCondition, Foldable<TooltipCondition> {
+
+	/**
+	 * A list of item tag IDs, optionally prefixed with <code>#</code>
+	 */
+	@Required
+	public TooltipFactory tags;
+
+	private ItemTagSet resolved;
+
+	@Override
+	@SuppressWarnings("deprecation")
+	public boolean isEnabled(Item item, NbtCompound tag, TooltipContext context) {
+		if (resolved != null)
+			return resolved.contains(item);
+		for (Text text : tags.getTooltipText(item, tag, context))
+			if (item.getRegistryEntry().isIn(ItemTagSet.parseTag(text.getString())))
+				return true;
+		return false;
+	}
+
+	@Override
+	public TooltipCondition fold() {
+		if (ConstantFactory.isConstant(tags)) {
+			List<TagKey<Item>> keys = new ArrayList<>();
+			for (Text text : tags.getTooltipText(null, null, null))
+				keys.add(ItemTagSet.parseTag(text.getString()));
+			resolved = ItemTagSet.of(keys);
+		}
+		return this;
+	}
+
+}
@@ -26,21 +26,30 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipCondition;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.ConstantFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
+import me.b0iizz.advancednbttooltip.api.impl.ItemSet;
+import me.b0iizz.advancednbttooltip.api.impl.TooltipValues;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.InvalidIdentifierException;
 import net.minecraft.registry.Registries;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * A condition which is fulfilled when the item is contained in the specified
- * list of items.
+ * list of items. Constant lists are resolved once when the tooltip is loaded.
  *
  * @author B0IIZZ
  */
 @TooltipCode("is_item")
-public class IsItemCondition implements TooltipCondition {
+public class IsItemCondition implements TooltipCondition, Foldable<TooltipCondition> {
 
 	/**
 	 * A list of valid item IDs
@@ -48,10 +57,42 @@ public class IsItemCondition implements TooltipCondition {
 	@Required
 	public TooltipFactory items;
 
+	private ItemSet resolved;
+
 	@Override
 	public boolean isEnabled(Item item, NbtCompound tag, TooltipContext context) {
-		return items.getTooltipText(item, tag, context).stream().map(Text::getString).map(Identifier::new)
-				.map(Registries.ITEM::get).anyMatch(i -> item == i);
+		if (resolved != null)
+			return resolved.contains(item);
+		for (NbtElement value : TooltipValues.get(items, item, tag, context))
+			if (Registries.ITEM.get(TooltipValues.asIdentifier(value)) == item)
+				return true;
+		return false;
+	}
+
+	@Override
+	public TooltipCondition fold() {
+		Set<Item> staticItems = getStaticItems();
+		if (staticItems != null)
+			resolved = ItemSet.of(staticItems);
+		return this;
+	}
+
+	/**
+	 * @return The items accepted by this condition if they are known at load time, otherwise <b>null</b>
+	 */
+	public Set<Item> getStaticItems() {
+		if (resolved != null)
+			return resolved.toSet();
+		if (!ConstantFactory.isConstant(items))
+			return null;
+		Set<Item> result = new HashSet<>();
+		try {
+			for (Text text : items.getTooltipText(null, null, null))
+				result.add(Registries.ITEM.get(new Identifier(text.getString())));
+		} catch (InvalidIdentifierException e) {
+			return null;
+		}
+		return result;
 	}
 
 }
@@ -4,6 +4,7 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Suggested;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.TooltipValues;
 import me.b0iizz.advancednbttooltip.gui.component.ItemTooltipComponent;
 import net.minecraft.client.gui.tooltip.TooltipComponent;
 import net.minecraft.client.item.TooltipContext;
@@ -11,7 +12,6 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.text.Text;
-import net.minecraft.util.Identifier;
 import net.minecraft.registry.Registries;
 
 import java.util.Collections;
@@ -36,8 +36,8 @@ public class ItemRendererFactory implements TooltipFactory {
 
 	@Override
 	public List<TooltipComponent> getTooltip(Item item, NbtCompound tag, TooltipContext context) {
-		List<ItemStack> list = items.getTooltipText(item, tag, context).stream().map(Text::getString)
-				.map(Identifier::new).map(Registries.ITEM::get).distinct().map(ItemStack::new)
+		List<ItemStack> list = TooltipValues.get(items, item, tag, context).stream()
+				.map(TooltipValues::asIdentifier).map(Registries.ITEM::get).distinct().map(ItemStack::new)
 				.toList();
 		return Collections.singletonList(new ItemTooltipComponent(list.toArray(ItemStack[]::new), width, scale));
 	}
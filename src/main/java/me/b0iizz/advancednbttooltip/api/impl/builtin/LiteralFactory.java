@@ -25,6 +25,8 @@ package me.b0iizz.advancednbttooltip.api.impl.builtin;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.ConstantFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
@@ -39,7 +41,7 @@ import java.util.List;
  * @author B0IIZZ
  */
 @TooltipCode("literal")
-public class LiteralFactory implements TooltipFactory {
+public class LiteralFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * The text to be displayed
@@ -52,4 +54,9 @@ public class LiteralFactory implements TooltipFactory {
 		return Collections.singletonList(Text.literal(text));
 	}
 
+	@Override
+	public TooltipFactory fold() {
+		return ConstantFactory.of(this);
+	}
+
 }
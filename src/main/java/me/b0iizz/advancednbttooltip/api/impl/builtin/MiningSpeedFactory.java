@@ -28,9 +28,9 @@ import net.minecraft.client.item.TooltipContext;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.enchantment.Enchantments;
 import net.minecraft.item.Item;
-import net.minecraft.item.ItemStack;
 import net.minecraft.item.ToolItem;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.text.Text;
 
 import java.util.Collections;
@@ -46,10 +46,8 @@ public class MiningSpeedFactory implements TooltipFactory {
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
 		if (!(item instanceof ToolItem)) return Collections.emptyList();
 
-		ItemStack stack = new ItemStack(item);
-		stack.setNbt(tag);
-
-		int level = EnchantmentHelper.getLevel(Enchantments.EFFICIENCY, stack);
+		int level = EnchantmentHelper.fromNbt(tag.getList("Enchantments", NbtElement.COMPOUND_TYPE))
+				.getOrDefault(Enchantments.EFFICIENCY, 0);
 		float multiplier = ((ToolItem) item).getMaterial().getMiningSpeedMultiplier();
 
 		return List.of(Text.of(String.valueOf(Math.pow(level, 2) + multiplier)));
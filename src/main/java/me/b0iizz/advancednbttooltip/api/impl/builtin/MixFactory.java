@@ -26,6 +26,8 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Suggested;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.ConstantFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
@@ -33,10 +35,8 @@ import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Stream;
 
 /**
  * Combines multiple {@link TooltipFactory TooltipFactories} next to each other
@@ -45,7 +45,7 @@ import java.util.stream.Stream;
  * @author B0IIZZ
  */
 @TooltipCode("mix")
-public class MixFactory implements TooltipFactory {
+public class MixFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * An array of {@link TooltipFactory TooltipFactories} which will be appended
@@ -63,33 +63,46 @@ public class MixFactory implements TooltipFactory {
 
 	@Override
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
-		List<List<Text>> tooltips = new ArrayList<>();
+		List<List<Text>> tooltips = new ArrayList<>(texts.length);
 
 		for (TooltipFactory factory : texts) {
 			tooltips.add(factory.getTooltipText(item, tag, context));
 		}
 
 		if (separate_lines) {
-			int maxLines = tooltips.stream().mapToInt(List::size).reduce(Integer::max).orElse(0);
+			int maxLines = 0;
+			for (List<Text> lines : tooltips)
+				maxLines = Math.max(maxLines, lines.size());
 
-			Text[] res = new Text[maxLines];
+			List<Text> result = new ArrayList<>(maxLines);
 
 			for (int line = 0; line < maxLines; line++) {
-				final int idx = line;
-				res[line] = tooltips.stream().flatMap(list -> {
-					if (idx < list.size())
-						return Stream.of(list.get(idx));
-					if (!list.isEmpty())
-						return Stream.of(list.get(list.size() - 1));
-					return Stream.empty();
-				}).map(Text::copy).reduce(MutableText::append).orElse(Text.literal(""));
+				MutableText mixed = null;
+				for (List<Text> lines : tooltips) {
+					if (lines.isEmpty())
+						continue;
+					mixed = append(mixed, lines.get(Math.min(line, lines.size() - 1)));
+				}
+				result.add(mixed != null ? mixed : Text.literal(""));
 			}
 
-			return Arrays.asList(res);
+			return result;
 		} else {
-			return tooltips.stream().flatMap(List::stream).map(Text::copy).reduce(MutableText::append)
-					.map(m -> (Text) m).map(Collections::singletonList).orElseGet(Collections::emptyList);
+			MutableText mixed = null;
+			for (List<Text> lines : tooltips)
+				for (Text line : lines)
+					mixed = append(mixed, line);
+			return mixed != null ? Collections.singletonList(mixed) : Collections.emptyList();
 		}
 	}
 
+	@Override
+	public TooltipFactory fold() {
+		return ConstantFactory.isConstant(texts) ? ConstantFactory.of(this) : this;
+	}
+
+	private static MutableText append(MutableText mixed, Text text) {
+		return mixed == null ? text.copy() : mixed.append(text.copy());
+	}
+
 }
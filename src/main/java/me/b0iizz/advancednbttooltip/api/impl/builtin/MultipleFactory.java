@@ -25,13 +25,16 @@ package me.b0iizz.advancednbttooltip.api.impl.builtin;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.ConstantFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.gui.tooltip.TooltipComponent;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.text.Text;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -41,7 +44,7 @@ import java.util.List;
  * @author B0IIZZ
  */
 @TooltipCode("multiple")
-public class MultipleFactory implements TooltipFactory {
+public class MultipleFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * An array of {@link TooltipFactory TooltipFactories} which
@@ -65,12 +68,35 @@ public class MultipleFactory implements TooltipFactory {
 
 	@Override
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
-		return Arrays.stream(texts).flatMap(text -> text.getTooltipText(item, tag, context).stream()).toList();
+		List<Text> result = new ArrayList<>();
+		for (TooltipFactory text : texts)
+			result.addAll(text.getTooltipText(item, tag, context));
+		return result;
 	}
 
 	@Override
 	public List<TooltipComponent> getTooltip(Item item, NbtCompound tag, TooltipContext context) {
-		return Arrays.stream(texts).flatMap(text -> text.getTooltip(item, tag, context).stream()).toList();
+		List<TooltipComponent> result = new ArrayList<>();
+		for (TooltipFactory text : texts)
+			result.addAll(text.getTooltip(item, tag, context));
+		return result;
+	}
+
+	@Override
+	public List<NbtElement> getTooltipValues(Item item, NbtCompound tag, TooltipContext context) {
+		List<NbtElement> result = new ArrayList<>();
+		for (TooltipFactory text : texts) {
+			List<NbtElement> values = text.getTooltipValues(item, tag, context);
+			if (values == null)
+				return null;
+			result.addAll(values);
+		}
+		return result;
+	}
+
+	@Override
+	public TooltipFactory fold() {
+		return ConstantFactory.isConstant(texts) ? ConstantFactory.of(this) : this;
 	}
 
 }
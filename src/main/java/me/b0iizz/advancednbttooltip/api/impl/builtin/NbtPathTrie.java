@@ -0,0 +1,123 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl.builtin;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+
+import java.util.*;
+
+/**
+ * A prefix tree of all bound paths consisting of plain compound keys. Each node is resolved lazily the first time a
+ * path ending in it or below it is accessed during an evaluation, and then reused, so that shared prefixes like
+ * <code>BlockEntityTag</code> are only looked up once per stack and paths of tooltips which are never evaluated for a
+ * stack cost nothing.
+ *
+ * @author B0IIZZ
+ */
+final class NbtPathTrie {
+
+	private final String[] keys;
+	private final int[] parents;
+	private final NbtElement[] values;
+	private final int[] resolvedIn;
+	private int evaluation = 0;
+	private NbtCompound root;
+
+	private NbtPathTrie(String[] keys, int[] parents) {
+		this.keys = keys;
+		this.parents = parents;
+		this.values = new NbtElement[keys.length];
+		this.resolvedIn = new int[keys.length];
+	}
+
+	/**
+	 * Builds a trie containing all given paths which consist of plain keys and assigns each of them a slot.
+	 *
+	 * @param paths The bound paths
+	 * @return The trie
+	 */
+	static NbtPathTrie build(Collection<BoundNbtPath> paths) {
+		List<String> keys = new ArrayList<>();
+		List<Integer> parents = new ArrayList<>();
+		Map<Integer, Map<String, Integer>> children = new HashMap<>();
+		for (BoundNbtPath path : paths) {
+			path.slot = -1;
+			if (path.keys == null)
+				continue;
+			int node = -1;
+			for (String key : path.keys) {
+				Map<String, Integer> siblings = children.computeIfAbsent(node, parent -> new HashMap<>());
+				Integer child = siblings.get(key);
+				if (child == null) {
+					child = keys.size();
+					keys.add(key);
+					parents.add(node);
+					siblings.put(key, child);
+				}
+				node = child;
+			}
+			path.slot = node;
+		}
+		return new NbtPathTrie(keys.toArray(String[]::new), parents.stream().mapToInt(Integer::intValue).toArray());
+	}
+
+	/**
+	 * Starts a new evaluation. Results of the previous evaluation are discarded without touching the slots.
+	 *
+	 * @param tag The root tag
+	 */
+	void begin(NbtCompound tag) {
+		root = tag;
+		if (++evaluation == 0) {
+			Arrays.fill(resolvedIn, 0);
+			evaluation = 1;
+		}
+	}
+
+	/**
+	 * Ends the current evaluation.
+	 */
+	void end() {
+		root = null;
+	}
+
+	/**
+	 * Resolves the path of a slot on the tag of the current evaluation, along with all of its prefixes which have
+	 * not been resolved yet.
+	 *
+	 * @param slot The slot of a path
+	 * @return The element at the path or <b>null</b> if there is none
+	 */
+	NbtElement get(int slot) {
+		if (resolvedIn[slot] == evaluation)
+			return values[slot];
+		int parent = parents[slot];
+		NbtElement container = parent < 0 ? root : get(parent);
+		NbtElement value = container instanceof NbtCompound compound ? compound.get(keys[slot]) : null;
+		values[slot] = value;
+		resolvedIn[slot] = evaluation;
+		return value;
+	}
+
+}
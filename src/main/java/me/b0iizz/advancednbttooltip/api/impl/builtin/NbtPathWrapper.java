@@ -2,32 +2,294 @@ package me.b0iizz.advancednbttooltip.api.impl.builtin;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
-import net.minecraft.command.argument.NbtPathArgumentType;
+import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.ConstantFactory;
+import me.b0iizz.advancednbttooltip.config.ConfigManager;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
+import net.minecraft.text.Text;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
-class NbtPathWrapper {
+/**
+ * Resolves {@link CompiledNbtPath NBT paths} for the builtin factories and conditions. While a tooltip is evaluated
+ * (see {@link #beginEvaluation(NbtCompound)}), bound paths consisting of plain keys are resolved through a
+ * {@link NbtPathTrie} sharing their prefixes and every other resolved path is memoized per root element, so that a path used by several nodes
+ * is only resolved once per stack.
+ *
+ * @author B0IIZZ
+ */
+public final class NbtPathWrapper {
 
-	private static final Cache<String, Optional<NbtPathArgumentType.NbtPath>> CACHE = CacheBuilder.newBuilder()
+	private static final Cache<String, Optional<CompiledNbtPath>> CACHE = CacheBuilder.newBuilder()
 			.initialCapacity(16).concurrencyLevel(1).maximumSize(256).build();
 
-	public static List<NbtElement> getAll(String pathName, NbtElement root) {
-		return getPath(pathName).map(path -> {
+	private static final Map<String, BoundNbtPath> BOUND = new HashMap<>();
+	private static final List<String> INVALID = new ArrayList<>();
+	private static NbtPathTrie trie = null;
+	private static NbtCompound evaluationRoot = null;
+
+	private static final Map<NbtElement, Map<CompiledNbtPath, List<NbtElement>>> MEMO = new IdentityHashMap<>();
+	private static boolean memoizing = false;
+	private static long memoHits = 0;
+	private static long memoMisses = 0;
+
+	private NbtPathWrapper() {
+	}
+
+	/**
+	 * Forgets all bound paths. Called before tooltips are reloaded.
+	 */
+	public static void clearBindings() {
+		BOUND.clear();
+		INVALID.clear();
+		trie = null;
+	}
+
+	/**
+	 * Builds the {@link NbtPathTrie} of all paths bound since {@link #clearBindings()}. Called after tooltips have
+	 * been reloaded.
+	 */
+	public static void buildTrie() {
+		trie = NbtPathTrie.build(BOUND.values());
+	}
+
+	/**
+	 * Starts resolving bound paths on the given root through the trie and memoizing resolved paths, if enabled in the
+	 * config. Must be followed by {@link #endEvaluation()}.
+	 *
+	 * @param root The tag of the evaluated stack
+	 */
+	public static void beginEvaluation(NbtCompound root) {
+		memoizing = ConfigManager.isNbtPathMemoEnabled();
+		if (memoizing && trie != null) {
+			evaluationRoot = root;
+			trie.begin(root);
+		}
+	}
+
+	/**
+	 * Stops memoizing resolved paths and forgets all memoized results.
+	 */
+	public static void endEvaluation() {
+		if (memoizing) {
+			memoizing = false;
+			if (evaluationRoot != null && trie != null)
+				trie.end();
+			evaluationRoot = null;
+			MEMO.clear();
+		}
+	}
+
+	/**
+	 * Returns and forgets the invalid paths found by {@link #bind(TooltipFactory)} since the last call. Called after
+	 * every loaded tooltip, so that they can be reported together with the tooltip's id.
+	 *
+	 * @return A description of every invalid path
+	 */
+	public static List<String> drainInvalidPaths() {
+		List<String> result = List.copyOf(INVALID);
+		INVALID.clear();
+		return result;
+	}
+
+	/**
+	 * @return The number of path lookups answered by the memo since the last {@link #resetMemoStats()}
+	 */
+	public static long getMemoHits() {
+		return memoHits;
+	}
+
+	/**
+	 * @return The number of path lookups which had to be resolved since the last {@link #resetMemoStats()}
+	 */
+	public static long getMemoMisses() {
+		return memoMisses;
+	}
+
+	/**
+	 * Resets the memo hit counts.
+	 */
+	public static void resetMemoStats() {
+		memoHits = 0;
+		memoMisses = 0;
+	}
+
+	/**
+	 * Parses the paths of a constant path factory once, so that they do not have to be looked up on every evaluation.
+	 * Invalid paths are skipped and collected for {@link #drainInvalidPaths()}.
+	 *
+	 * @param path The factory creating the paths
+	 * @return The parsed paths or <b>null</b> if the factory is not constant
+	 */
+	static BoundNbtPath[] bind(TooltipFactory path) {
+		if (!ConstantFactory.isConstant(path))
+			return null;
+		List<BoundNbtPath> result = new ArrayList<>();
+		for (Text text : path.getTooltipText(null, null, null)) {
 			try {
-				return path.count(root) != 0 ? path.get(root) : Collections.<NbtElement>emptyList();
-			} catch (CommandSyntaxException ignored) {
+				result.add(getBoundPath(text.getString()));
+			} catch (CommandSyntaxException e) {
+				INVALID.add("\"%s\": %s".formatted(text.getString(), e.getMessage()));
+			}
+		}
+		return result.toArray(BoundNbtPath[]::new);
+	}
+
+	/**
+	 * @param bound   The paths returned by {@link #bind(TooltipFactory)} or <b>null</b>
+	 * @param path    The factory creating the paths, used when no paths are bound
+	 * @param item    The current {@link Item}
+	 * @param tag     The root tag
+	 * @param context The current {@link TooltipContext}
+	 * @return All elements at the paths
+	 */
+	static List<NbtElement> getAll(BoundNbtPath[] bound, TooltipFactory path, Item item, NbtCompound tag,
+								   TooltipContext context) {
+		if (bound != null) {
+			if (bound.length == 1)
+				return getAll(bound[0], tag);
+			List<NbtElement> result = new ArrayList<>();
+			for (BoundNbtPath boundPath : bound)
+				result.addAll(getAll(boundPath, tag));
+			return result;
+		}
+		List<NbtElement> result = new ArrayList<>();
+		for (Text text : path.getTooltipText(item, tag, context))
+			result.addAll(getAll(text.getString(), tag));
+		return result;
+	}
+
+	/**
+	 * @param bound The paths returned by {@link #bind(TooltipFactory)} or <b>null</b>
+	 * @return The keys the paths start with, or <b>null</b> if a path does not start with a key or no paths are bound
+	 */
+	static Set<String> getRootKeys(BoundNbtPath[] bound) {
+		if (bound == null)
+			return null;
+		Set<String> result = new HashSet<>();
+		for (BoundNbtPath path : bound) {
+			String key = path.path.rootKey();
+			if (key == null)
+				return null;
+			result.add(key);
+		}
+		return result;
+	}
+
+	/**
+	 * Tests the elements at the paths until one matches, without collecting them. A path which has already been
+	 * collected during this evaluation is tested against the memoized elements instead.
+	 *
+	 * @param bound     The paths returned by {@link #bind(TooltipFactory)} or <b>null</b>
+	 * @param path      The factory creating the paths, used when no paths are bound
+	 * @param item      The current {@link Item}
+	 * @param tag       The root tag
+	 * @param context   The current {@link TooltipContext}
+	 * @param predicate The predicate to test the elements with
+	 * @return true as soon as an element at the paths matches the predicate
+	 */
+	static boolean anyMatch(BoundNbtPath[] bound, TooltipFactory path, Item item, NbtCompound tag,
+							TooltipContext context, Predicate<NbtElement> predicate) {
+		if (bound != null) {
+			for (BoundNbtPath boundPath : bound)
+				if (anyMatch(boundPath, tag, predicate))
+					return true;
+			return false;
+		}
+		for (Text text : path.getTooltipText(item, tag, context)) {
+			Optional<CompiledNbtPath> compiled = getPath(text.getString());
+			if (compiled.isPresent() && anyMatch(compiled.get(), tag, predicate))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Passes every element at the paths to an action, without collecting them.
+	 *
+	 * @param bound   The paths returned by {@link #bind(TooltipFactory)} or <b>null</b>
+	 * @param path    The factory creating the paths, used when no paths are bound
+	 * @param item    The current {@link Item}
+	 * @param tag     The root tag
+	 * @param context The current {@link TooltipContext}
+	 * @param action  The action to be performed for each element
+	 */
+	static void forEach(BoundNbtPath[] bound, TooltipFactory path, Item item, NbtCompound tag, TooltipContext context,
+						Consumer<NbtElement> action) {
+		anyMatch(bound, path, item, tag, context, element -> {
+			action.accept(element);
+			return false;
+		});
+	}
+
+	private static boolean anyMatch(BoundNbtPath path, NbtElement root, Predicate<NbtElement> predicate) {
+		if (path.slot >= 0 && root == evaluationRoot) {
+			NbtElement element = trie.get(path.slot);
+			return element != null && predicate.test(element);
+		}
+		return anyMatch(path.path, root, predicate);
+	}
+
+	private static boolean anyMatch(CompiledNbtPath path, NbtElement root, Predicate<NbtElement> predicate) {
+		if (memoizing && path.keys() == null) {
+			Map<CompiledNbtPath, List<NbtElement>> memo = MEMO.get(root);
+			List<NbtElement> memoized = memo != null ? memo.get(path) : null;
+			if (memoized != null) {
+				memoHits++;
+				for (NbtElement element : memoized)
+					if (predicate.test(element))
+						return true;
+				return false;
 			}
-			return Collections.<NbtElement>emptyList();
-		}).orElse(Collections.emptyList());
+		}
+		return path.anyMatch(root, predicate);
 	}
 
-	public static Optional<NbtPathArgumentType.NbtPath> getPath(String path) {
+	static List<NbtElement> getAll(BoundNbtPath path, NbtElement root) {
+		if (path.slot >= 0 && root == evaluationRoot) {
+			NbtElement element = trie.get(path.slot);
+			return element != null ? Collections.singletonList(element) : Collections.emptyList();
+		}
+		return getAll(path.path, root);
+	}
+
+	public static List<NbtElement> getAll(String pathName, NbtElement root) {
+		return getPath(pathName).map(path -> getAll(path, root)).orElse(Collections.emptyList());
+	}
+
+	static List<NbtElement> getAll(CompiledNbtPath path, NbtElement root) {
+		if (path.keys() != null) {
+			NbtElement element = path.get(root);
+			return element != null ? Collections.singletonList(element) : Collections.emptyList();
+		}
+		if (!memoizing)
+			return resolve(path, root);
+		Map<CompiledNbtPath, List<NbtElement>> memo = MEMO.computeIfAbsent(root,
+				r -> new IdentityHashMap<>());
+		List<NbtElement> result = memo.get(path);
+		if (result != null) {
+			memoHits++;
+			return result;
+		}
+		memoMisses++;
+		result = resolve(path, root);
+		memo.put(path, result);
+		return result;
+	}
+
+	private static List<NbtElement> resolve(CompiledNbtPath path, NbtElement root) {
+		List<NbtElement> result = path.collect(root, null);
+		return result != null ? result : Collections.emptyList();
+	}
+
+	static Optional<CompiledNbtPath> getPath(String path) {
 		try {
 			return CACHE.get(path, () -> getPathInternal(path));
 		} catch (ExecutionException e) {
@@ -36,8 +298,21 @@ class NbtPathWrapper {
 		}
 	}
 
-	private static Optional<NbtPathArgumentType.NbtPath> getPathInternal(String path) throws CommandSyntaxException {
-		return Optional.of(new NbtPathArgumentType().parse(new StringReader(path)));
+	/**
+	 * Parses a path for binding. Equal paths are parsed into the same instance, which lets nodes share memoized
+	 * results.
+	 */
+	private static BoundNbtPath getBoundPath(String path) throws CommandSyntaxException {
+		BoundNbtPath result = BOUND.get(path);
+		if (result == null) {
+			result = new BoundNbtPath(path, getPathInternal(path).orElseThrow());
+			BOUND.put(path, result);
+		}
+		return result;
+	}
+
+	private static Optional<CompiledNbtPath> getPathInternal(String path) throws CommandSyntaxException {
+		return Optional.of(CompiledNbtPath.parse(path));
 	}
 
 }
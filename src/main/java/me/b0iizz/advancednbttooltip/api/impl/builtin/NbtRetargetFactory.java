@@ -25,6 +25,7 @@ package me.b0iizz.advancednbttooltip.api.impl.builtin;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.fabricmc.fabric.api.util.NbtType;
 import net.minecraft.client.gui.tooltip.TooltipComponent;
 import net.minecraft.client.item.TooltipContext;
@@ -33,6 +34,7 @@ import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.text.Text;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -41,7 +43,7 @@ import java.util.List;
  * @author B0IIZZ
  */
 @TooltipCode("nbt_retarget")
-public class NbtRetargetFactory implements TooltipFactory {
+public class NbtRetargetFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * The nbt path to search
@@ -55,22 +57,44 @@ public class NbtRetargetFactory implements TooltipFactory {
 	@Required
 	public TooltipFactory text;
 
+	private BoundNbtPath[] boundPaths;
+
 	@Override
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
-		return path.getTooltipText(item, tag, context).stream()
-				.flatMap(path -> NbtPathWrapper.getAll(path.getString(), tag).stream()
-						.filter(t -> t.getType() == NbtType.COMPOUND)
-						.map(t -> (NbtCompound) t).flatMap(t -> this.text.getTooltipText(item, t, context).stream()))
-				.toList();
+		List<Text> result = new ArrayList<>();
+		for (NbtElement element : NbtPathWrapper.getAll(boundPaths, path, item, tag, context))
+			if (element.getType() == NbtType.COMPOUND)
+				result.addAll(this.text.getTooltipText(item, (NbtCompound) element, context));
+		return result;
 	}
 
 	@Override
 	public List<TooltipComponent> getTooltip(Item item, NbtCompound tag, TooltipContext context) {
-		return path.getTooltipText(item, tag, context).stream()
-				.flatMap(path -> NbtPathWrapper.getAll(path.getString(), tag).stream()
-						.filter(t -> t.getType() == NbtType.COMPOUND)
-						.map(t -> (NbtCompound) t).flatMap(t -> this.text.getTooltip(item, t, context).stream()))
-				.toList();
+		List<TooltipComponent> result = new ArrayList<>();
+		for (NbtElement element : NbtPathWrapper.getAll(boundPaths, path, item, tag, context))
+			if (element.getType() == NbtType.COMPOUND)
+				result.addAll(this.text.getTooltip(item, (NbtCompound) element, context));
+		return result;
+	}
+
+	@Override
+	public List<NbtElement> getTooltipValues(Item item, NbtCompound tag, TooltipContext context) {
+		List<NbtElement> result = new ArrayList<>();
+		for (NbtElement element : NbtPathWrapper.getAll(boundPaths, path, item, tag, context)) {
+			if (element.getType() != NbtType.COMPOUND)
+				continue;
+			List<NbtElement> values = this.text.getTooltipValues(item, (NbtCompound) element, context);
+			if (values == null)
+				return null;
+			result.addAll(values);
+		}
+		return result;
+	}
+
+	@Override
+	public TooltipFactory fold() {
+		boundPaths = NbtPathWrapper.bind(path);
+		return this;
 	}
 
 }
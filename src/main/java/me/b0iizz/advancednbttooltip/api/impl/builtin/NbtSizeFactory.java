@@ -25,14 +25,17 @@ package me.b0iizz.advancednbttooltip.api.impl.builtin;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.AbstractNbtList;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtEnd;
+import net.minecraft.nbt.NbtInt;
 import net.minecraft.text.Text;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -42,7 +45,7 @@ import java.util.List;
  * @author B0IIZZ
  */
 @TooltipCode("nbt_size")
-public class NbtSizeFactory implements TooltipFactory {
+public class NbtSizeFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * The {@link net.minecraft.command.argument.NbtPathArgumentType.NbtPath} to search
@@ -50,18 +53,40 @@ public class NbtSizeFactory implements TooltipFactory {
 	@Required("tag")
 	public TooltipFactory path;
 
+	private BoundNbtPath[] boundPaths;
+
 	@Override
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
-		return path.getTooltipText(item, tag, context).stream()
-				.<Text>flatMap(path -> NbtPathWrapper.getAll(path.getString(), tag).stream().map(this::fromTag)
-						.map(Text::literal)).toList();
+		List<Text> result = new ArrayList<>();
+		NbtPathWrapper.forEach(boundPaths, path, item, tag, context,
+				element -> result.add(Text.literal(fromTag(element))));
+		return result;
+	}
+
+	@Override
+	public List<NbtElement> getTooltipValues(Item item, NbtCompound tag, TooltipContext context) {
+		List<NbtElement> result = new ArrayList<>();
+		NbtPathWrapper.forEach(boundPaths, path, item, tag, context,
+				element -> result.add(NbtInt.of(sizeOf(element))));
+		return result;
 	}
 
 	private String fromTag(NbtElement tag) {
+		return sizeOf(tag) + "";
+	}
+
+	private int sizeOf(NbtElement tag) {
 		if (tag instanceof NbtCompound) {
-			return ((NbtCompound) tag).getSize() + "";
+			return ((NbtCompound) tag).getSize();
 		} else if (tag instanceof AbstractNbtList) {
-			return ((AbstractNbtList<?>) tag).size() + "";
-		} else return tag instanceof NbtEnd ? "0" : "1";
+			return ((AbstractNbtList<?>) tag).size();
+		} else return tag instanceof NbtEnd ? 0 : 1;
 	}
+
+	@Override
+	public TooltipFactory fold() {
+		boundPaths = NbtPathWrapper.bind(path);
+		return this;
+	}
+
 }
@@ -3,12 +3,14 @@ package me.b0iizz.advancednbttooltip.api.impl.builtin;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.text.Text;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,7 +20,7 @@ import java.util.List;
  * @author B0IIZZ
  */
 @TooltipCode("nbt_text")
-public class NbtTextFactory implements TooltipFactory {
+public class NbtTextFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * The {@link net.minecraft.command.argument.NbtPathArgumentType.NbtPath} to search
@@ -26,11 +28,21 @@ public class NbtTextFactory implements TooltipFactory {
 	@Required("tag")
 	public TooltipFactory path;
 
+	private BoundNbtPath[] boundPaths;
+
 	@Override
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
-		return path.getTooltipText(item, tag, context).stream()
-				.<Text>flatMap(path -> NbtPathWrapper.getAll(path.getString(), tag).stream().map(NbtElement::asString)
-						.map(Text.Serializer::fromLenientJson)).toList();
+		List<NbtElement> elements = NbtPathWrapper.getAll(boundPaths, path, item, tag, context);
+		List<Text> result = new ArrayList<>(elements.size());
+		for (NbtElement element : elements)
+			result.add(Text.Serializer.fromLenientJson(element.asString()));
+		return result;
+	}
+
+	@Override
+	public TooltipFactory fold() {
+		boundPaths = NbtPathWrapper.bind(path);
+		return this;
 	}
 
 }
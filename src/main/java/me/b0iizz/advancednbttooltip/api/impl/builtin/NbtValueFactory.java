@@ -26,6 +26,7 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Suggested;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.AbstractNbtList;
@@ -35,9 +36,8 @@ import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * A factory which creates a simple {@link Text} containing the value of
@@ -46,7 +46,7 @@ import java.util.stream.Stream;
  * @author B0IIZZ
  */
 @TooltipCode("nbt_value")
-public class NbtValueFactory implements TooltipFactory {
+public class NbtValueFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * The {@link net.minecraft.command.argument.NbtPathArgumentType.NbtPath NbtPath} to search
@@ -69,32 +69,52 @@ public class NbtValueFactory implements TooltipFactory {
 	@Suggested
 	public boolean colored = false;
 
+	private BoundNbtPath[] boundPaths;
+
 	@Override
 	public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
-		return path.getTooltipText(item, tag, context).stream()
-				.flatMap(path -> NbtPathWrapper.getAll(path.getString(), tag).stream().map(this::fromTag)
-						.flatMap(List::stream)).toList();
+		List<Text> result = new ArrayList<>();
+		for (NbtElement element : NbtPathWrapper.getAll(boundPaths, path, item, tag, context))
+			appendTag(element, 0, result);
+		return result;
+	}
+
+	@Override
+	public List<NbtElement> getTooltipValues(Item item, NbtCompound tag, TooltipContext context) {
+		return NbtPathWrapper.getAll(boundPaths, path, item, tag, context);
 	}
 
-	private List<Text> fromTag(NbtElement tag) {
-		if (tag instanceof NbtCompound) {
-			if (!traverseCompound)
-				return List.of(Text.literal("{...}").formatted(colored ? Formatting.YELLOW : Formatting.RESET));
-			return ((NbtCompound) tag).getKeys().stream()
-					.flatMap(key -> Stream.concat(Stream.of(Text.literal(key + ": ")
-							.formatted(colored ? Formatting.GRAY : Formatting.RESET)), fromTag(((NbtCompound) tag).get(key)).stream()
-							.map(this::indent))).collect(Collectors.toList());
-		} else if (tag instanceof AbstractNbtList<? extends NbtElement>) {
-			if (!traverseList)
-				return List.of(Text.literal("[...]").formatted(colored ? Formatting.YELLOW : Formatting.RESET));
-			return ((AbstractNbtList<? extends NbtElement>) tag).stream()
-					.flatMap(e -> Stream.concat(fromTag(e).stream(), Stream.of(Text.literal("")))).map(this::indent)
-					.collect(Collectors.toList());
-		} else return List.of(Text.literal(tag.asString()).formatted(colored ? Formatting.YELLOW : Formatting.RESET));
+	private void appendTag(NbtElement tag, int depth, List<Text> result) {
+		if (tag instanceof NbtCompound compound) {
+			if (!traverseCompound) {
+				result.add(indent(Text.literal("{...}").formatted(colored ? Formatting.YELLOW : Formatting.RESET), depth));
+				return;
+			}
+			for (String key : compound.getKeys()) {
+				result.add(indent(Text.literal(key + ": ").formatted(colored ? Formatting.GRAY : Formatting.RESET), depth));
+				appendTag(compound.get(key), depth + 1, result);
+			}
+		} else if (tag instanceof AbstractNbtList<? extends NbtElement> list) {
+			if (!traverseList) {
+				result.add(indent(Text.literal("[...]").formatted(colored ? Formatting.YELLOW : Formatting.RESET), depth));
+				return;
+			}
+			for (NbtElement element : list) {
+				appendTag(element, depth + 1, result);
+				result.add(indent(Text.literal(""), depth + 1));
+			}
+		} else
+			result.add(indent(Text.literal(tag.asString()).formatted(colored ? Formatting.YELLOW : Formatting.RESET), depth));
 	}
 
-	private MutableText indent(Text text) {
-		return Text.literal(" ").append(text);
+	private MutableText indent(MutableText text, int depth) {
+		return depth == 0 ? text : Text.literal(" ".repeat(depth)).append(text);
+	}
+
+	@Override
+	public TooltipFactory fold() {
+		boundPaths = NbtPathWrapper.bind(path);
+		return this;
 	}
 
 }
@@ -25,6 +25,8 @@ package me.b0iizz.advancednbttooltip.api.impl.builtin;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipCondition;
+import me.b0iizz.advancednbttooltip.api.impl.ConditionOrder;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
@@ -35,7 +37,7 @@ import net.minecraft.nbt.NbtCompound;
  * @author B0IIZZ
  */
 @TooltipCode("or")
-public class OrCondition implements TooltipCondition {
+public class OrCondition implements TooltipCondition, Foldable<TooltipCondition> {
 
 	/**
 	 * The conditions one of has to be fulfilled
@@ -43,12 +45,22 @@ public class OrCondition implements TooltipCondition {
 	@Required
 	public TooltipCondition[] conditions;
 
+	private ConditionOrder order;
+
 	@Override
 	public boolean isEnabled(Item item, NbtCompound tag, TooltipContext context) {
+		if (order != null)
+			return order.isEnabled(item, tag, context);
 		for (TooltipCondition condition : conditions)
 			if (condition != null && condition.isEnabled(item, tag, context))
 				return true;
 		return false;
 	}
 
+	@Override
+	public TooltipCondition fold() {
+		order = new ConditionOrder("or", false, conditions);
+		return this;
+	}
+
 }
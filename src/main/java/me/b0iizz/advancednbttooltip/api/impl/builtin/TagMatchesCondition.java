@@ -27,12 +27,15 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipCondition;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.*;
 
 import java.math.BigDecimal;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * A condition which is true when the item has the specified {@link NbtElement
@@ -41,7 +44,7 @@ import java.util.Map.Entry;
  * @author B0IIZZ
  */
 @TooltipCode("tag_matches")
-public class TagMatchesCondition implements TooltipCondition {
+public class TagMatchesCondition implements TooltipCondition, Foldable<TooltipCondition> {
 
 	/**
 	 * The {@link net.minecraft.command.argument.NbtPathArgumentType.NbtPath} to be searched
@@ -55,11 +58,21 @@ public class TagMatchesCondition implements TooltipCondition {
 	@Required
 	public JsonElement value;
 
+	private BoundNbtPath[] boundPaths;
+
+	private final Predicate<NbtElement> matchesValue = element -> isEqualTo(element, this.value);
+
 	@Override
 	public boolean isEnabled(Item item, NbtCompound tag, TooltipContext context) {
-		return path.getTooltipText(item, tag, context).stream()
-				.flatMap(path -> NbtPathWrapper.getAll(path.getString(), tag).stream())
-				.anyMatch(e -> isEqualTo(e, value));
+		return NbtPathWrapper.anyMatch(boundPaths, path, item, tag, context, matchesValue);
+	}
+
+	/**
+	 * @return The root keys of which the tag needs to contain at least one for this condition to be fulfilled, or
+	 * <b>null</b> if they are not known at load time
+	 */
+	public Set<String> getRootKeys() {
+		return NbtPathWrapper.getRootKeys(boundPaths);
 	}
 
 	private boolean isEqualTo(NbtElement tag, JsonElement value) {
@@ -92,4 +105,10 @@ public class TagMatchesCondition implements TooltipCondition {
 		return false;
 	}
 
+	@Override
+	public TooltipCondition fold() {
+		boundPaths = NbtPathWrapper.bind(path);
+		return this;
+	}
+
 }
@@ -26,6 +26,8 @@ import me.b0iizz.advancednbttooltip.api.JsonTooltips.Required;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.Suggested;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips.TooltipCode;
 import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.ConstantFactory;
+import me.b0iizz.advancednbttooltip.api.impl.Foldable;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.item.Item;
 import net.minecraft.nbt.NbtCompound;
@@ -40,7 +42,7 @@ import java.util.stream.Stream;
  * @author B0IIZZ
  */
 @TooltipCode("translated")
-public class TranslatedFactory implements TooltipFactory {
+public class TranslatedFactory implements TooltipFactory, Foldable<TooltipFactory> {
 
 	/**
 	 * The translation key
@@ -64,4 +66,11 @@ public class TranslatedFactory implements TooltipFactory {
 		}).toList();
 	}
 
+	@Override
+	public TooltipFactory fold() {
+		if (ConstantFactory.isConstant(key) && (arguments == null || ConstantFactory.isConstant(arguments)))
+			return ConstantFactory.of(this);
+		return this;
+	}
+
 }
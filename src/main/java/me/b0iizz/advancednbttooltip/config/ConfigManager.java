@@ -31,17 +31,24 @@ import me.b0iizz.advancednbttooltip.AdvancedNBTTooltips.TooltipPosition;
 import me.b0iizz.advancednbttooltip.gui.HudTooltipRenderer.HudTooltipPosition;
 import me.b0iizz.advancednbttooltip.gui.HudTooltipRenderer.HudTooltipZIndex;
 import me.shedaniel.autoconfig.AutoConfig;
+import me.shedaniel.autoconfig.ConfigHolder;
 import me.shedaniel.autoconfig.serializer.GsonConfigSerializer;
 import me.shedaniel.autoconfig.serializer.PartitioningSerializer;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.util.ActionResult;
 import net.minecraft.util.Identifier;
 
-import java.io.*;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
 import java.util.function.Supplier;
 
 /**
@@ -55,9 +62,32 @@ public class ConfigManager {
 
 	private static final Path configPath = FabricLoader.getInstance().getConfigDir().resolve(AdvancedNBTTooltips.modid);
 
-	private static ModConfig config;
+	private static volatile ConfigSnapshot snapshot;
 
-	private static final Map<Identifier, Boolean> toggles = new HashMap<>();
+	private static final String TOGGLES_FILE = "toggles.json";
+
+	/**
+	 * The delay in milliseconds after which changed toggles are written to the file
+	 */
+	public static final long WRITE_DELAY_MS = 1000;
+
+	private static final ScheduledExecutorService IO = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "AdvancedNbtTooltip I/O");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static final Map<Identifier, Boolean> toggles = new ConcurrentHashMap<>();
+
+	private static volatile CompletableFuture<Void> togglesLoaded = CompletableFuture.completedFuture(null);
+
+	private static final Object writeLock = new Object();
+
+	private static ScheduledFuture<?> pendingWrite;
+
+	private static Map<String, Boolean> pendingToggles;
+
+	private static volatile int generation;
 
 	/**
 	 * Registers the config for AutoConfig at the start of the game. Should not be
@@ -73,10 +103,38 @@ public class ConfigManager {
 	 * {@link me.b0iizz.advancednbttooltip.AdvancedNBTTooltips ModMain}
 	 */
 	public static void loadConfig() {
-		config = AutoConfig.getConfigHolder(ModConfig.class).getConfig();
+		ConfigHolder<ModConfig> holder = AutoConfig.getConfigHolder(ModConfig.class);
+		snapshot = ConfigSnapshot.of(holder.getConfig());
+		holder.registerLoadListener((loadedHolder, loadedConfig) -> {
+			publish(loadedConfig);
+			return ActionResult.PASS;
+		});
+		holder.registerSaveListener((savedHolder, savedConfig) -> {
+			publish(savedConfig);
+			return ActionResult.PASS;
+		});
 		readToggles();
 	}
 
+	private static void publish(ModConfig config) {
+		snapshot = ConfigSnapshot.of(config);
+		generation++;
+	}
+
+	/**
+	 * @return The values of the config at the time it was last loaded or saved
+	 */
+	public static ConfigSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * @return A number which changes every time the config is loaded or saved or a tooltip is toggled
+	 */
+	public static int getGeneration() {
+		return generation;
+	}
+
 	/**
 	 * @param parent The parent screen
 	 * @return A new Config Screen
@@ -88,22 +146,32 @@ public class ConfigManager {
 	// TODO: toggles
 
 	/**
-	 * Reads all toggles from the file
+	 * The time in seconds the client waits for the toggles to be written when it is stopping
+	 */
+	private static final long FLUSH_TIMEOUT_S = 5;
+
+	/**
+	 * Starts reading all toggles from the file on the I/O thread. Until they have been read, tooltips have their
+	 * default state and toggles changed in the meantime take precedence over the file. Once they have been read, the
+	 * enabled tooltips are updated on the client thread.
 	 */
 	public static void readToggles() {
-		File tFile = configPath.resolve("toggles.json").toFile();
-		if (!tFile.exists())
-			try {
-				tFile.createNewFile();
-			} catch (IOException ignored) {
-			}
-		try (InputStream is = new FileInputStream(tFile)) {
-			try (Reader r = new InputStreamReader(is)) {
-				JsonElement json = gson.fromJson(r, JsonElement.class);
-				if (json != null && json.isJsonObject()) {
-					json.getAsJsonObject().entrySet().stream().filter(e -> e.getValue().isJsonPrimitive())
-							.forEach(e -> toggles.put(new Identifier(e.getKey()), e.getValue().getAsBoolean()));
-				}
+		togglesLoaded = CompletableFuture.runAsync(ConfigManager::loadToggles, IO);
+		togglesLoaded.thenRunAsync(() -> {
+			generation++;
+			AdvancedNBTTooltips.refreshEnabledTooltips();
+		}, runnable -> MinecraftClient.getInstance().execute(runnable));
+	}
+
+	private static void loadToggles() {
+		Path file = configPath.resolve(TOGGLES_FILE);
+		if (!Files.exists(file))
+			return;
+		try (Reader r = Files.newBufferedReader(file)) {
+			JsonElement json = gson.fromJson(r, JsonElement.class);
+			if (json != null && json.isJsonObject()) {
+				json.getAsJsonObject().entrySet().stream().filter(e -> e.getValue().isJsonPrimitive())
+						.forEach(e -> toggles.putIfAbsent(new Identifier(e.getKey()), e.getValue().getAsBoolean()));
 			}
 		} catch (Throwable t) {
 			System.err.println("Could not load toggles!");
@@ -112,22 +180,69 @@ public class ConfigManager {
 	}
 
 	/**
-	 * Writes all toggles to the file
+	 * Schedules writing all toggles to the file on the I/O thread. Further calls within {@link #WRITE_DELAY_MS}
+	 * milliseconds postpone the write, so that only the latest state is written. If the toggles have not been read
+	 * yet, the write is scheduled once they have been, so that the file is not overwritten without them.
 	 */
 	public static void writeToggles() {
-		File tFile = configPath.resolve("toggles.json").toFile();
-		if (!tFile.exists())
-			try {
-				tFile.createNewFile();
-			} catch (IOException ignored) {
+		togglesLoaded.thenRun(ConfigManager::scheduleWrite);
+	}
+
+	private static void scheduleWrite() {
+		Map<String, Boolean> state = new TreeMap<>();
+		toggles.forEach((id, enabled) -> state.put(id.toString(), enabled));
+		synchronized (writeLock) {
+			pendingToggles = state;
+			if (pendingWrite != null)
+				pendingWrite.cancel(false);
+			pendingWrite = IO.schedule(ConfigManager::writePendingToggles, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Immediately writes the toggles if a write has been scheduled and waits for all writes to finish, at most
+	 * {@link #FLUSH_TIMEOUT_S} seconds. Called when the client is stopping.
+	 */
+	public static void flushToggles() {
+		try {
+			IO.submit(ConfigManager::writePendingToggles).get(FLUSH_TIMEOUT_S, TimeUnit.SECONDS);
+		} catch (InterruptedException | ExecutionException | TimeoutException e) {
+			System.err.println("Could not write toggles before stopping!");
+			e.printStackTrace();
+		}
+	}
+
+	private static void writePendingToggles() {
+		Map<String, Boolean> state;
+		synchronized (writeLock) {
+			state = pendingToggles;
+			pendingToggles = null;
+			if (pendingWrite != null)
+				pendingWrite.cancel(false);
+			pendingWrite = null;
+		}
+		if (state != null)
+			storeToggles(state);
+	}
+
+	/**
+	 * Writes the toggles to a temporary file, which then replaces the toggles file, so that the file is never left
+	 * partially written.
+	 */
+	private static synchronized void storeToggles(Map<String, Boolean> state) {
+		Path file = configPath.resolve(TOGGLES_FILE);
+		Path tempFile = configPath.resolve(TOGGLES_FILE + ".tmp");
+		try {
+			Files.createDirectories(configPath);
+			JsonObject json = new JsonObject();
+			state.forEach(json::addProperty);
+			try (Writer w = Files.newBufferedWriter(tempFile)) {
+				gson.toJson(json, gson.newJsonWriter(w));
 			}
-		try (OutputStream os = new FileOutputStream(tFile)) {
-			try (Writer w = new OutputStreamWriter(os)) {
-				gson.toJson(toggles.entrySet().stream()
-								.sorted(Comparator.comparing(a -> a.getKey().toString()))
-								.collect(JsonObject::new, (obj, e) -> obj.addProperty(e.getKey().toString(), e.getValue()),
-										(obj, obj2) -> obj2.entrySet().forEach(e -> obj.add(e.getKey(), e.getValue()))),
-						gson.newJsonWriter(w));
+			try {
+				Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
 			}
 		} catch (Throwable t) {
 			System.err.println("Could not write toggles!");
@@ -140,7 +255,15 @@ public class ConfigManager {
 	 * @return if the tooltip is enabled
 	 */
 	public static boolean isEnabled(Identifier id) {
-		return toggles.computeIfAbsent(id, newId -> newId.getNamespace().equals(AdvancedNBTTooltips.modid));
+		if (!togglesLoaded.isDone()) {
+			Boolean enabled = toggles.get(id);
+			return enabled != null ? enabled : isEnabledByDefault(id);
+		}
+		return toggles.computeIfAbsent(id, ConfigManager::isEnabledByDefault);
+	}
+
+	private static boolean isEnabledByDefault(Identifier id) {
+		return id.getNamespace().equals(AdvancedNBTTooltips.modid);
 	}
 
 	/**
@@ -150,8 +273,12 @@ public class ConfigManager {
 	 * @return the new state of the tooltip
 	 */
 	public static boolean toggle(Identifier id) {
-		toggles.put(id, !isEnabled(id));
-		return isEnabled(id);
+		boolean enabled = !isEnabled(id);
+		toggles.put(id, enabled);
+		generation++;
+		AdvancedNBTTooltips.setTooltipEnabled(id, enabled);
+		writeToggles();
+		return enabled;
 	}
 
 	// TODO: Category General Options
@@ -160,7 +287,7 @@ public class ConfigManager {
 	 * @return true when custom tooltips should be shown
 	 */
 	public static boolean getTooltipToggle() {
-		return config.general.enableTooltips;
+		return snapshot.enableTooltips();
 	}
 
 	/**
@@ -168,14 +295,14 @@ public class ConfigManager {
 	 * to the title screen when a new update is out.
 	 */
 	public static boolean getMainMenuUpdateNoticeToggle() {
-		return config.general.mainMenuUpdateNotice;
+		return snapshot.mainMenuUpdateNotice();
 	}
 
 	/**
 	 * @return The location where custom tooltips should be placed
 	 */
 	public static TooltipPosition getTooltipPosition() {
-		return config.general.tooltipPosition;
+		return snapshot.tooltipPosition();
 	}
 
 	/**
@@ -184,31 +311,14 @@ public class ConfigManager {
 	 * <b>false</b>, when not.
 	 */
 	public static boolean overrideHideFlags() {
-		return config.general.overrideHideFlags;
+		return snapshot.overrideHideFlags();
 	}
 
 	/**
 	 * @return The bitmask which is then bitwise AND-ed with the HideFlags property
 	 */
 	public static int getHideflagOverrideBitmask() {
-		int mask = 0x7F;
-
-		if (config.general.hideflagOverrides.overrideEnchantments)
-			mask &= 0x7E;
-		if (config.general.hideflagOverrides.overrideAttributeModifiers)
-			mask &= 0x7D;
-		if (config.general.hideflagOverrides.overrideUnbreakable)
-			mask &= 0x7B;
-		if (config.general.hideflagOverrides.overrideCanDestroy)
-			mask &= 0x77;
-		if (config.general.hideflagOverrides.overrideCanPlaceOn)
-			mask &= 0x6F;
-		if (config.general.hideflagOverrides.overrideAppendTooltip)
-			mask &= 0x5F;
-		if (config.general.hideflagOverrides.overrideDyeTooltip)
-			mask &= 0x3F;
-
-		return mask;
+		return snapshot.hideflagOverrideBitmask();
 	}
 
 	// TODO: HUD options
@@ -217,63 +327,93 @@ public class ConfigManager {
 	 * @return true when HUD rendering is enabled
 	 */
 	public static boolean isHudRenderingEnabled() {
-		return config.hud.enableHudRendering;
+		return snapshot.enableHudRendering();
 	}
 
 	/**
 	 * @return true when the HUD shows tooltips on dropped items
 	 */
 	public static boolean getDroppedItemToggle() {
-		return config.hud.toggleDroppedItem;
+		return snapshot.toggleDroppedItem();
 	}
 
 	/**
 	 * @return true when the HUD shows tooltips on dropped items
 	 */
 	public static boolean getItemFrameToggle() {
-		return config.hud.toggleItemFrame;
+		return snapshot.toggleItemFrame();
 	}
 
 	/**
 	 * @return true when the HUD shows tooltips on dropped items
 	 */
 	public static boolean getArmorStandToggle() {
-		return config.hud.toggleArmorStand;
+		return snapshot.toggleArmorStand();
 	}
 
 	/**
 	 * @return the number of allowed lines in the HUD tooltip
 	 */
 	public static int getHudTooltipLineLimt() {
-		return config.hud.tooltipLineLimit;
+		return snapshot.hudTooltipLineLimit();
 	}
 
 	/**
 	 * @return the color of the HUD tooltip
 	 */
 	public static int getHudTooltipColor() {
-		return config.hud.tooltipColor;
+		return snapshot.hudTooltipColor();
 	}
 
 	/**
 	 * @return the color of the HUD tooltip
 	 */
 	public static HudTooltipPosition getHudTooltipPosition() {
-		return config.hud.hudTooltipPosition;
+		return snapshot.hudTooltipPosition();
 	}
 
 	/**
 	 * @return the z-index of the HUD tooltip
 	 */
 	public static HudTooltipZIndex getHudTooltipZIndex() {
-		return config.hud.hudTooltipZ;
+		return snapshot.hudTooltipZ();
 	}
 
 	/**
 	 * @return true when the maximum enchantment level should be appended
 	 */
 	public static boolean isShowMaxEnchantmentLevel() {
-		return config.misc.showMaxEnchantmentLevel;
+		return snapshot.showMaxEnchantmentLevel();
+	}
+
+	// TODO: Performance options
+
+	/**
+	 * @return true when resolved nbt paths should be shared between all tooltips of a stack
+	 */
+	public static boolean isNbtPathMemoEnabled() {
+		return snapshot.nbtPathMemo();
+	}
+
+	/**
+	 * @return true when conditions should be reordered by their measured cost and selectivity
+	 */
+	public static boolean isAdaptiveConditionOrderEnabled() {
+		return snapshot.adaptiveConditionOrder();
+	}
+
+	/**
+	 * @return true when the tooltips of recently hovered stacks should be reused
+	 */
+	public static boolean isTooltipCacheEnabled() {
+		return snapshot.tooltipCache();
+	}
+
+	/**
+	 * @return true when the complete tooltips of recently hovered stacks, including the vanilla lines, should be reused
+	 */
+	public static boolean isFullTooltipCacheEnabled() {
+		return snapshot.fullTooltipCache();
 	}
 
 }
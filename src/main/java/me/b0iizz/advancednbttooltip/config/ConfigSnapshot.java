@@ -0,0 +1,96 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.config;
+
+import me.b0iizz.advancednbttooltip.AdvancedNBTTooltips.TooltipPosition;
+import me.b0iizz.advancednbttooltip.gui.HudTooltipRenderer.HudTooltipPosition;
+import me.b0iizz.advancednbttooltip.gui.HudTooltipRenderer.HudTooltipZIndex;
+
+/**
+ * An immutable copy of all config values which are read while rendering, including values derived from them. A new
+ * snapshot is created whenever the config is loaded or saved.
+ *
+ * @param enableTooltips          See {@link ConfigManager#getTooltipToggle()}
+ * @param mainMenuUpdateNotice    See {@link ConfigManager#getMainMenuUpdateNoticeToggle()}
+ * @param tooltipPosition         See {@link ConfigManager#getTooltipPosition()}
+ * @param overrideHideFlags       See {@link ConfigManager#overrideHideFlags()}
+ * @param hideflagOverrideBitmask See {@link ConfigManager#getHideflagOverrideBitmask()}
+ * @param enableHudRendering      See {@link ConfigManager#isHudRenderingEnabled()}
+ * @param toggleDroppedItem       See {@link ConfigManager#getDroppedItemToggle()}
+ * @param toggleItemFrame         See {@link ConfigManager#getItemFrameToggle()}
+ * @param toggleArmorStand        See {@link ConfigManager#getArmorStandToggle()}
+ * @param hudTooltipLineLimit     See {@link ConfigManager#getHudTooltipLineLimt()}
+ * @param hudTooltipColor         See {@link ConfigManager#getHudTooltipColor()}
+ * @param hudTooltipPosition      See {@link ConfigManager#getHudTooltipPosition()}
+ * @param hudTooltipZ             See {@link ConfigManager#getHudTooltipZIndex()}
+ * @param showMaxEnchantmentLevel See {@link ConfigManager#isShowMaxEnchantmentLevel()}
+ * @param nbtPathMemo             See {@link ConfigManager#isNbtPathMemoEnabled()}
+ * @param adaptiveConditionOrder  See {@link ConfigManager#isAdaptiveConditionOrderEnabled()}
+ * @param tooltipCache            See {@link ConfigManager#isTooltipCacheEnabled()}
+ * @param fullTooltipCache        See {@link ConfigManager#isFullTooltipCacheEnabled()}
+ * @author B0IIZZ
+ */
+public record ConfigSnapshot(boolean enableTooltips, boolean mainMenuUpdateNotice, TooltipPosition tooltipPosition,
+		boolean overrideHideFlags, int hideflagOverrideBitmask, boolean enableHudRendering, boolean toggleDroppedItem,
+		boolean toggleItemFrame, boolean toggleArmorStand, int hudTooltipLineLimit, int hudTooltipColor,
+		HudTooltipPosition hudTooltipPosition, HudTooltipZIndex hudTooltipZ, boolean showMaxEnchantmentLevel,
+		boolean nbtPathMemo, boolean adaptiveConditionOrder, boolean tooltipCache,
+		boolean fullTooltipCache) {
+
+	/**
+	 * @param config The config
+	 * @return A snapshot of the current values of the config
+	 */
+	static ConfigSnapshot of(ModConfig config) {
+		return new ConfigSnapshot(config.general.enableTooltips, config.general.mainMenuUpdateNotice,
+				config.general.tooltipPosition, config.general.overrideHideFlags, hideflagOverrideBitmask(config),
+				config.hud.enableHudRendering, config.hud.toggleDroppedItem, config.hud.toggleItemFrame,
+				config.hud.toggleArmorStand, config.hud.tooltipLineLimit, config.hud.tooltipColor,
+				config.hud.hudTooltipPosition, config.hud.hudTooltipZ, config.misc.showMaxEnchantmentLevel,
+				config.performance.memoizeNbtPaths,
+				config.performance.adaptiveConditionOrder, config.performance.cacheTooltips,
+				config.performance.cacheFullTooltips);
+	}
+
+	private static int hideflagOverrideBitmask(ModConfig config) {
+		int mask = 0x7F;
+
+		if (config.general.hideflagOverrides.overrideEnchantments)
+			mask &= 0x7E;
+		if (config.general.hideflagOverrides.overrideAttributeModifiers)
+			mask &= 0x7D;
+		if (config.general.hideflagOverrides.overrideUnbreakable)
+			mask &= 0x7B;
+		if (config.general.hideflagOverrides.overrideCanDestroy)
+			mask &= 0x77;
+		if (config.general.hideflagOverrides.overrideCanPlaceOn)
+			mask &= 0x6F;
+		if (config.general.hideflagOverrides.overrideAppendTooltip)
+			mask &= 0x5F;
+		if (config.general.hideflagOverrides.overrideDyeTooltip)
+			mask &= 0x3F;
+
+		return mask;
+	}
+
+}
@@ -57,6 +57,10 @@ public class ModConfig extends PartitioningSerializer.GlobalData {
 	@ConfigEntry.Gui.TransitiveObject
 	MiscConfig misc = new MiscConfig();
 
+	@ConfigEntry.Category("nbt_performance")
+	@ConfigEntry.Gui.TransitiveObject
+	PerformanceConfig performance = new PerformanceConfig();
+
 	/**
 	 * The Category of the config containing all general options
 	 *
@@ -219,4 +223,37 @@ public class ModConfig extends PartitioningSerializer.GlobalData {
 		@ConfigEntry.Gui.Tooltip
 		boolean showMaxEnchantmentLevel = true;
 	}
+
+	/**
+	 * The Category of the config containing options affecting how tooltips are evaluated
+	 *
+	 * @author B0IIZZ
+	 */
+	@Config(name = "nbt_performance")
+	public static class PerformanceConfig implements ConfigData {
+
+		/**
+		 * See In-game description.
+		 */
+		@ConfigEntry.Gui.Tooltip
+		boolean memoizeNbtPaths = true;
+
+		/**
+		 * See In-game description.
+		 */
+		@ConfigEntry.Gui.Tooltip
+		boolean adaptiveConditionOrder = false;
+
+		/**
+		 * See In-game description.
+		 */
+		@ConfigEntry.Gui.Tooltip
+		boolean cacheTooltips = true;
+
+		/**
+		 * See In-game description.
+		 */
+		@ConfigEntry.Gui.Tooltip
+		boolean cacheFullTooltips = false;
+	}
 }
@@ -23,7 +23,9 @@
 package me.b0iizz.advancednbttooltip.gui;
 
 import me.b0iizz.advancednbttooltip.AdvancedNBTTooltips;
+import me.b0iizz.advancednbttooltip.config.ConfigManager;
 import net.fabricmc.fabric.api.client.rendering.v1.TooltipComponentCallback;
+import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.tooltip.TooltipComponent;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.client.item.TooltipData;
@@ -48,6 +50,20 @@ public interface CustomTooltipRenderer {
 	}
 
 	default void renderTooltip(MatrixStack matrices, ItemStack stack, int x, int y, TooltipContext ctx, @Nullable List<Text> vanilla_lines, @Nullable PlayerEntity player) {
+		List<TooltipComponent> tooltip;
+		if (vanilla_lines == null && ConfigManager.isFullTooltipCacheEnabled()) {
+			TooltipState state = new TooltipState(player, Screen.hasShiftDown(), Screen.hasControlDown(),
+					Screen.hasAltDown());
+			tooltip = new ArrayList<>(AdvancedNBTTooltips.getFullTooltipCache().get(stack, ctx, state,
+					AdvancedNBTTooltips.getRegistry(), ConfigManager.getGeneration(),
+					() -> buildTooltip(stack, ctx, null, player)));
+		} else {
+			tooltip = buildTooltip(stack, ctx, vanilla_lines, player);
+		}
+		this.renderComponents(matrices, stack, tooltip, x, y);
+	}
+
+	private static List<TooltipComponent> buildTooltip(ItemStack stack, TooltipContext ctx, @Nullable List<Text> vanilla_lines, @Nullable PlayerEntity player) {
 		List<TooltipComponent> tooltip = Optional.ofNullable(vanilla_lines).orElse(stack.getTooltip(player, ctx))
 				.stream().sequential().map(Text::asOrderedText).map(TooltipComponent::of)
 				.collect(Collectors.toCollection(ArrayList::new));
@@ -55,7 +71,7 @@ public interface CustomTooltipRenderer {
 		stack.getTooltipData().map(CustomTooltipRenderer::fromTooltipData).ifPresent(tooltip::add);
 
 		AdvancedNBTTooltips.getTooltip(stack, ctx, tooltip);
-		this.renderComponents(matrices, stack, tooltip, x, y);
+		return tooltip;
 	}
 
 	private static TooltipComponent fromTooltipData(TooltipData data) {
@@ -63,4 +79,16 @@ public interface CustomTooltipRenderer {
 		return result != null ? result : TooltipComponent.of(data);
 	}
 
+	/**
+	 * The state besides the stack which the vanilla lines of a cached tooltip depend on. Everything else, like the world
+	 * time or lines added by other mods, is covered by clearing the cache every tick.
+	 *
+	 * @param player  The player the tooltip is built for, compared by identity
+	 * @param shift   Whether shift is held down
+	 * @param control Whether control is held down
+	 * @param alt     Whether alt is held down
+	 */
+	record TooltipState(@Nullable PlayerEntity player, boolean shift, boolean control, boolean alt) {
+	}
+
 }
@@ -23,6 +23,7 @@
 package me.b0iizz.advancednbttooltip.gui;
 
 import me.b0iizz.advancednbttooltip.config.ConfigManager;
+import me.b0iizz.advancednbttooltip.config.ConfigSnapshot;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.tooltip.TooltipComponent;
@@ -74,7 +75,8 @@ public class HudTooltipRenderer implements CustomTooltipRenderer {
 	@Override
 	public void renderComponents(MatrixStack matrices, ItemStack stack, List<TooltipComponent> components, int x,
 								 int y) {
-		int componentLimit = ConfigManager.getHudTooltipLineLimt();
+		ConfigSnapshot config = ConfigManager.getSnapshot();
+		int componentLimit = config.hudTooltipLineLimit();
 		if (components.size() > componentLimit && componentLimit > 0) {
 			components = components.stream().limit(componentLimit).collect(Collectors.toCollection(ArrayList::new));
 			components.add(TooltipComponent.of(Text.of("...").asOrderedText()));
@@ -88,13 +90,13 @@ public class HudTooltipRenderer implements CustomTooltipRenderer {
 
 		tooltipHeight = Math.max(tooltipHeight, 16) + 8;
 
-		HudTooltipPosition position = ConfigManager.getHudTooltipPosition();
+		HudTooltipPosition position = config.hudTooltipPosition();
 
 		x = position.getX().get(tooltipWidth + 23, width, 10);
 		y = position.getY().get(tooltipHeight, height, 10);
 
-		int z = ConfigManager.getHudTooltipZIndex().getZ();
-		int color = ConfigManager.getHudTooltipColor();
+		int z = config.hudTooltipZ().getZ();
+		int color = config.hudTooltipColor();
 
 		matrices.push();
 		TooltipRenderingUtils.drawBox(matrices, x, y, 24, 24, -100, color);
@@ -60,7 +60,6 @@ public class TooltipsScreen extends Screen {
 
 	@Override
 	protected void init() {
-		ConfigManager.readToggles();
 		initWidgets();
 	}
 
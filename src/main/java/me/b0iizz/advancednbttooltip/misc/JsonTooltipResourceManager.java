@@ -23,9 +23,12 @@
 package me.b0iizz.advancednbttooltip.misc;
 
 import com.google.gson.JsonParseException;
+import me.b0iizz.advancednbttooltip.AdvancedNBTTooltips;
 import me.b0iizz.advancednbttooltip.api.CustomTooltip;
 import me.b0iizz.advancednbttooltip.api.JsonTooltips;
-import me.b0iizz.advancednbttooltip.api.TooltipCondition;
+import me.b0iizz.advancednbttooltip.api.impl.TooltipCache;
+import me.b0iizz.advancednbttooltip.api.impl.TooltipRegistry;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.NbtPathWrapper;
 import me.b0iizz.advancednbttooltip.config.ConfigManager;
 import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
 import net.minecraft.resource.Resource;
@@ -39,9 +42,11 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,13 +67,13 @@ public class JsonTooltipResourceManager implements SimpleSynchronousResourceRelo
 
 	private static final Logger RES_LOGGER = LogManager.getLogger("AdvancedNbtTooltip Resource Loader");
 
-	final Map<Identifier, CustomTooltip> tooltips;
+	final Consumer<TooltipRegistry> registryConsumer;
 
 	/**
-	 * @param tooltips The map containing all registered Tooltips
+	 * @param registryConsumer Receives the newly built {@link TooltipRegistry} after every reload
 	 */
-	public JsonTooltipResourceManager(Map<Identifier, CustomTooltip> tooltips) {
-		this.tooltips = tooltips;
+	public JsonTooltipResourceManager(Consumer<TooltipRegistry> registryConsumer) {
+		this.registryConsumer = registryConsumer;
 	}
 
 	@Override
@@ -78,7 +83,14 @@ public class JsonTooltipResourceManager implements SimpleSynchronousResourceRelo
 
 	@Override
 	public void reload(ResourceManager manager) {
-		tooltips.clear();
+		if (NbtPathWrapper.getMemoHits() + NbtPathWrapper.getMemoMisses() > 0)
+			RES_LOGGER.debug("NBT path memo since last reload: {} hits, {} misses", NbtPathWrapper.getMemoHits(),
+					NbtPathWrapper.getMemoMisses());
+		NbtPathWrapper.resetMemoStats();
+		logCacheStats("Tooltip cache", AdvancedNBTTooltips.getTooltipCache());
+		logCacheStats("Full tooltip cache", AdvancedNBTTooltips.getFullTooltipCache());
+		NbtPathWrapper.clearBindings();
+		Map<Identifier, CustomTooltip> tooltips = new HashMap<>();
 
 		manager.findResources("tooltip", path -> path.getPath().endsWith(".json")).forEach((id0, resource) -> {
 			String path = id0.getPath();
@@ -97,11 +109,23 @@ public class JsonTooltipResourceManager implements SimpleSynchronousResourceRelo
 				processTooltipErrorMessageRecursive(messageBuilder, t);
 				RES_LOGGER.warn("Exception loading tooltip {} from {}: \n{}", id, id0, messageBuilder.toString());
 				return;
+			} finally {
+				for (String invalid : NbtPathWrapper.drainInvalidPaths())
+					RES_LOGGER.warn("Invalid nbt path in tooltip {}: {}", id, invalid);
 			}
 			RES_LOGGER.debug("Finished loading Tooltip {} from {} ", id, id0);
 		});
 
-		tooltips.forEach((id, tooltip) -> tooltip.addCondition(TooltipCondition.of(() -> ConfigManager.isEnabled(id))));
+		TooltipRegistry registry = TooltipRegistry.build(tooltips, ConfigManager::isEnabled);
+		NbtPathWrapper.buildTrie();
+		registryConsumer.accept(registry);
+	}
+
+	private static void logCacheStats(String name, TooltipCache cache) {
+		if (cache.getHits() + cache.getMisses() > 0)
+			RES_LOGGER.debug("{} since last reload: {} hits, {} misses, {} evictions", name, cache.getHits(),
+					cache.getMisses(), cache.getEvictions());
+		cache.resetStats();
 	}
 
 	private void processTooltipErrorMessageRecursive(StringBuilder message, Throwable error) {
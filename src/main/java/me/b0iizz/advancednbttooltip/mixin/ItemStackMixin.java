@@ -23,6 +23,7 @@
 package me.b0iizz.advancednbttooltip.mixin;
 
 import me.b0iizz.advancednbttooltip.config.ConfigManager;
+import me.b0iizz.advancednbttooltip.config.ConfigSnapshot;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
@@ -47,8 +48,9 @@ public abstract class ItemStackMixin {
 	@SuppressWarnings("InvalidInjectorMethodSignature")
 	@ModifyVariable(at = @At(value = "INVOKE_ASSIGN", target = "net.minecraft.item.ItemStack.getHideFlags()I"), method = "getTooltip")
 	private int advancednbttooltip$rewriteHideFlags(int i) {
-		if (ConfigManager.overrideHideFlags()) {
-			return i & ConfigManager.getHideflagOverrideBitmask();
+		ConfigSnapshot config = ConfigManager.getSnapshot();
+		if (config.overrideHideFlags()) {
+			return i & config.hideflagOverrideBitmask();
 		}
 		return i;
 	}
@@ -0,0 +1,102 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtInt;
+import net.minecraft.nbt.StringNbtReader;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link NbtFingerprint}.
+ *
+ * @author B0IIZZ
+ */
+class NbtFingerprintTest {
+
+	private static long fingerprint(String snbt) throws CommandSyntaxException {
+		return NbtFingerprint.of(StringNbtReader.parse(snbt));
+	}
+
+	@Test
+	void equalTreesHaveEqualFingerprints() throws CommandSyntaxException {
+		String snbt = "{a: 1, b: \"text\", c: [1.5f, 2.5f], d: {e: [L; 1L, 2L]}, f: [B; 1b]}";
+		assertEquals(fingerprint(snbt), fingerprint(snbt));
+		assertEquals(fingerprint("{}"), NbtFingerprint.of(new NbtCompound()));
+	}
+
+	@Test
+	void keyOrderDoesNotMatter() throws CommandSyntaxException {
+		NbtCompound first = new NbtCompound();
+		first.putInt("a", 1);
+		first.putString("b", "text");
+		NbtCompound second = new NbtCompound();
+		second.putString("b", "text");
+		second.putInt("a", 1);
+		assertEquals(NbtFingerprint.of(first), NbtFingerprint.of(second));
+		assertEquals(fingerprint("{x: {a: 1, b: 2}}"), fingerprint("{x: {b: 2, a: 1}}"));
+	}
+
+	@Test
+	void differentValuesHaveDifferentFingerprints() throws CommandSyntaxException {
+		assertNotEquals(fingerprint("{a: 1}"), fingerprint("{a: 2}"));
+		assertNotEquals(fingerprint("{a: 1}"), fingerprint("{b: 1}"));
+		assertNotEquals(fingerprint("{a: 1}"), fingerprint("{a: 1, b: 1}"));
+		assertNotEquals(fingerprint("{a: \"x\"}"), fingerprint("{a: \"y\"}"));
+		assertNotEquals(fingerprint("{a: {b: 1}}"), fingerprint("{a: {b: 2}}"));
+		assertNotEquals(fingerprint("{a: {b: 1}, c: 1}"), fingerprint("{a: {c: 1}, b: 1}"));
+	}
+
+	@Test
+	void differentTypesHaveDifferentFingerprints() throws CommandSyntaxException {
+		assertNotEquals(fingerprint("{a: 1b}"), fingerprint("{a: 1}"));
+		assertNotEquals(fingerprint("{a: 1}"), fingerprint("{a: 1L}"));
+		assertNotEquals(fingerprint("{a: 1.0f}"), fingerprint("{a: 1.0d}"));
+		assertNotEquals(fingerprint("{a: [1, 2]}"), fingerprint("{a: [I; 1, 2]}"));
+		assertNotEquals(fingerprint("{a: []}"), fingerprint("{a: {}}"));
+	}
+
+	@Test
+	void listOrderMatters() throws CommandSyntaxException {
+		assertNotEquals(fingerprint("{a: [1, 2]}"), fingerprint("{a: [2, 1]}"));
+		assertNotEquals(fingerprint("{a: [I; 1, 2]}"), fingerprint("{a: [I; 2, 1]}"));
+		assertNotEquals(fingerprint("{a: [B; 1b, 2b]}"), fingerprint("{a: [B; 2b, 1b]}"));
+	}
+
+	@Test
+	void modificationsChangeTheFingerprint() {
+		NbtCompound compound = new NbtCompound();
+		compound.putIntArray("a", new int[]{1, 2});
+		long before = NbtFingerprint.of(compound);
+		compound.getIntArray("a")[0] = 3;
+		assertNotEquals(before, NbtFingerprint.of(compound));
+		compound.getIntArray("a")[0] = 1;
+		assertEquals(before, NbtFingerprint.of(compound));
+		compound.put("b", NbtInt.of(1));
+		assertNotEquals(before, NbtFingerprint.of(compound));
+	}
+
+}
@@ -0,0 +1,133 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.client.gui.tooltip.TooltipComponent;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the keys and the eviction of {@link TooltipCache}.
+ *
+ * @author B0IIZZ
+ */
+class TooltipCacheTest {
+
+	private TooltipCache cache;
+	private int computed;
+
+	@BeforeAll
+	static void bootstrap() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+	}
+
+	@BeforeEach
+	void createCache() {
+		cache = new TooltipCache();
+		computed = 0;
+	}
+
+	private static ItemStack stack(int n) {
+		ItemStack stack = new ItemStack(Items.STONE);
+		stack.getOrCreateNbt().putInt("n", n);
+		return stack;
+	}
+
+	private List<TooltipComponent> get(ItemStack stack, int lines) {
+		return cache.get(stack, TooltipContext.BASIC, null, null, 0, () -> {
+			computed++;
+			return new ArrayList<>(Collections.nCopies(lines, null));
+		});
+	}
+
+	@Test
+	void reusesEntriesOfEqualStacks() {
+		List<TooltipComponent> first = get(stack(1), 1);
+		assertSame(first, get(stack(1), 1));
+		assertEquals(1, computed);
+		assertEquals(1, cache.getHits());
+
+		get(stack(2), 1);
+		get(new ItemStack(Items.DIRT), 1);
+		assertEquals(List.of(), cache.get(stack(1), TooltipContext.ADVANCED, null, null, 0, ArrayList::new));
+		assertEquals(List.of(), cache.get(stack(1), TooltipContext.BASIC, "state", null, 0, ArrayList::new));
+		assertEquals(List.of(), cache.get(stack(1), TooltipContext.BASIC, null, null, 1, ArrayList::new));
+		assertEquals(6, cache.size());
+		assertEquals(6, cache.getMisses());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntries() {
+		for (int i = 0; i < TooltipCache.MAX_ENTRIES; i++)
+			get(stack(i), 1);
+		assertEquals(TooltipCache.MAX_ENTRIES, cache.size());
+		assertEquals(0, cache.getEvictions());
+
+		get(stack(0), 1);
+		get(stack(TooltipCache.MAX_ENTRIES), 1);
+		assertEquals(TooltipCache.MAX_ENTRIES, cache.size());
+		assertEquals(1, cache.getEvictions());
+
+		int before = computed;
+		get(stack(0), 1);
+		assertEquals(before, computed);
+		get(stack(1), 1);
+		assertEquals(before + 1, computed);
+	}
+
+	@Test
+	void evictsEntriesOverTheByteLimit() {
+		int lines = 1000;
+		for (int i = 0; i < 64; i++)
+			get(stack(i), lines);
+		assertTrue(cache.size() < 64);
+		assertTrue(cache.size() * (64L * lines) <= TooltipCache.MAX_BYTES);
+		assertEquals(64 - cache.size(), cache.getEvictions());
+	}
+
+	@Test
+	void clearKeepsStatistics() {
+		get(stack(1), 1);
+		get(stack(1), 1);
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		get(stack(1), 1);
+		assertEquals(2, computed);
+	}
+
+}
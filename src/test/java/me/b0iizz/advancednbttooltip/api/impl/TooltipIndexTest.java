@@ -0,0 +1,192 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl;
+
+import me.b0iizz.advancednbttooltip.api.TooltipCondition;
+import me.b0iizz.advancednbttooltip.api.TooltipFactory;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.HasTagCondition;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.IsItemCondition;
+import me.b0iizz.advancednbttooltip.api.impl.builtin.OrCondition;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.tooltip.TooltipComponent;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests which tooltips {@link TooltipIndex} selects for an item and tag.
+ *
+ * @author B0IIZZ
+ */
+class TooltipIndexTest {
+
+	@BeforeAll
+	static void bootstrap() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+	}
+
+	private static CompiledTooltip tooltip(String id, int priority, TooltipCondition... conditions) {
+		CustomTooltipImpl tooltip = new CustomTooltipImpl();
+		tooltip.setPriority(priority);
+		for (TooltipCondition condition : conditions)
+			tooltip.addCondition(condition);
+		tooltip.addText(new LineFactory(id));
+		return CompiledTooltip.compile(new Identifier("test", id), tooltip);
+	}
+
+	private static IsItemCondition isItem(String... items) {
+		IsItemCondition condition = new IsItemCondition();
+		condition.items = new ConstantFactory(Arrays.stream(items).map(Text::of).toList());
+		return condition;
+	}
+
+	private static CountingHasTagCondition hasTag(String path) {
+		CountingHasTagCondition condition = new CountingHasTagCondition();
+		condition.path = new ConstantFactory(List.of(Text.of(path)));
+		condition.fold();
+		return condition;
+	}
+
+	private static List<String> ids(CompiledTooltip[] tooltips) {
+		return Arrays.stream(tooltips).map(tooltip -> tooltip.getId().getPath()).toList();
+	}
+
+	@Test
+	void selectsTooltipsByItem() {
+		TooltipIndex index = TooltipIndex.build(List.of(
+				tooltip("generic", 0),
+				tooltip("diamond", 0, isItem("minecraft:diamond")),
+				tooltip("diamond_or_stick", 5, isItem("minecraft:diamond", "minecraft:stick")),
+				tooltip("high_priority", 10)));
+
+		assertEquals(List.of("high_priority", "diamond_or_stick", "diamond", "generic"), ids(index.get(Items.DIAMOND)));
+		assertEquals(List.of("high_priority", "diamond_or_stick", "generic"), ids(index.get(Items.STICK)));
+		assertEquals(List.of("high_priority", "generic"), ids(index.get(Items.STONE)));
+	}
+
+	@Test
+	void selectsTooltipsByOrConditions() {
+		OrCondition or = new OrCondition();
+		or.conditions = new TooltipCondition[]{isItem("minecraft:diamond"), isItem("minecraft:stick")};
+		OrCondition unbounded = new OrCondition();
+		unbounded.conditions = new TooltipCondition[]{isItem("minecraft:diamond"), TooltipCondition.TRUE};
+		TooltipIndex index = TooltipIndex.build(List.of(tooltip("or", 0, or), tooltip("unbounded", 0, unbounded)));
+
+		assertEquals(List.of("or", "unbounded"), ids(index.get(Items.STICK)));
+		assertEquals(List.of("unbounded"), ids(index.get(Items.STONE)));
+	}
+
+	@Test
+	void selectsTooltipsByRootKey() {
+		CountingHasTagCondition foo = hasTag("Foo.Bar");
+		CountingHasTagCondition bar = hasTag("Bar");
+		CountingHasTagCondition filtered = hasTag("[]");
+		TooltipIndex index = TooltipIndex.build(List.of(tooltip("foo", 0, foo), tooltip("bar", 0, bar),
+				tooltip("filtered", 0, filtered), tooltip("unkeyed", 0)));
+
+		NbtCompound tag = new NbtCompound();
+		tag.put("Foo", new NbtCompound());
+		assertEquals(List.of("unkeyed"), append(index, Items.STONE, tag));
+		assertEquals(1, foo.evaluations);
+		assertEquals(0, bar.evaluations);
+		assertEquals(1, filtered.evaluations);
+
+		assertEquals(List.of("unkeyed"), append(index, Items.STONE, new NbtCompound()));
+		assertEquals(1, foo.evaluations);
+		assertEquals(0, bar.evaluations);
+		assertEquals(2, filtered.evaluations);
+
+		tag.putInt("Bar", 1);
+		((NbtCompound) tag.get("Foo")).putInt("Bar", 1);
+		assertEquals(List.of("bar", "foo", "unkeyed"), append(index, Items.STONE, tag));
+		assertEquals(2, foo.evaluations);
+		assertEquals(1, bar.evaluations);
+	}
+
+	private static List<String> append(TooltipIndex index, Item item, NbtCompound tag) {
+		List<TooltipComponent> components = new ArrayList<>();
+		index.appendTooltip(item, tag, TooltipContext.BASIC, components);
+		return components.stream().map(component -> ((Line) component).id()).toList();
+	}
+
+	/**
+	 * A has_tag condition counting how often it is evaluated
+	 */
+	private static final class CountingHasTagCondition extends HasTagCondition {
+
+		private int evaluations;
+
+		@Override
+		public boolean isEnabled(Item item, NbtCompound tag, TooltipContext context) {
+			evaluations++;
+			return super.isEnabled(item, tag, context);
+		}
+	}
+
+	/**
+	 * A factory adding a single {@link Line} with the id of its tooltip
+	 */
+	private record LineFactory(String id) implements TooltipFactory {
+
+		@Override
+		public List<Text> getTooltipText(Item item, NbtCompound tag, TooltipContext context) {
+			return List.of(Text.of(id));
+		}
+
+		@Override
+		public List<TooltipComponent> getTooltip(Item item, NbtCompound tag, TooltipContext context) {
+			return List.of(new Line(id));
+		}
+	}
+
+	/**
+	 * A tooltip component which is never rendered
+	 */
+	private record Line(String id) implements TooltipComponent {
+
+		@Override
+		public int getHeight() {
+			return 0;
+		}
+
+		@Override
+		public int getWidth(TextRenderer textRenderer) {
+			return 0;
+		}
+	}
+
+}
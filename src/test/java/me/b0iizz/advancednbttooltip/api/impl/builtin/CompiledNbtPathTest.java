@@ -0,0 +1,93 @@
+/*	MIT License
+	
+	Copyright (c) 2020-present b0iizz
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+*/
+package me.b0iizz.advancednbttooltip.api.impl.builtin;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.command.argument.NbtPathArgumentType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.StringNbtReader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares {@link CompiledNbtPath} with the paths of {@link NbtPathArgumentType}.
+ *
+ * @author B0IIZZ
+ */
+class CompiledNbtPathTest {
+
+	private static NbtCompound root;
+
+	@BeforeAll
+	static void parseRoot() throws CommandSyntaxException {
+		root = StringNbtReader.parse("""
+				{
+					Name: "root",
+					"with space": {Value: 1b},
+					Nested: {Inner: {Value: 2, Other: 3L}, List: [1, 2, 3]},
+					Items: [{id: "a", Count: 1b}, {id: "b", Count: 2b, tag: {Damage: 5}}, {id: "a", Count: 3b}],
+					Empty: [],
+					Ints: [I; 4, 5, 6],
+					Lists: [[1, 2], [3]]
+				}
+				""");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"Name", "Missing", "Nested", "Nested.Inner.Value", "Nested.Inner.Missing",
+			"Name.Value", "\"with space\".Value", "Nested.List[0]", "Nested.List[-1]", "Nested.List[3]",
+			"Nested.List[]", "Items[].id", "Items[{id:\"a\"}]", "Items[{id:\"a\"}].Count", "Items[1].tag.Damage",
+			"Empty[]", "Ints[1]", "Ints[]", "Lists[][]", "Lists[0][1]", "{Name:\"root\"}", "{Name:\"other\"}.Name",
+			"Nested{Inner:{Value:2}}.Inner", "Nested{Inner:{Value:3}}", "Nested.Inner{Other:3L}.Value", "Name.",
+			"'Name'"})
+	void collectsLikeVanilla(String path) throws CommandSyntaxException {
+		List<NbtElement> expected;
+		try {
+			expected = NbtPathArgumentType.nbtPath().parse(new StringReader(path)).get(root);
+		} catch (CommandSyntaxException e) {
+			expected = Collections.emptyList();
+		}
+
+		CompiledNbtPath compiled = CompiledNbtPath.parse(path);
+		List<NbtElement> actual = compiled.collect(root, null);
+		assertEquals(expected, actual == null ? Collections.emptyList() : actual, path);
+		assertEquals(!expected.isEmpty(), compiled.anyMatch(root, element -> true), path);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"Items[a]", "Items[0", "Nested.{Inner:{}}", "\"Name", "Nested..Inner"})
+	void rejectsLikeVanilla(String path) {
+		assertThrows(CommandSyntaxException.class,
+				() -> NbtPathArgumentType.nbtPath().parse(new StringReader(path)), path);
+		assertThrows(CommandSyntaxException.class, () -> CompiledNbtPath.parse(path), path);
+	}
+
+}